@@ -1,6 +1,6 @@
 package com.example.authapp.admin;
 
-import com.example.authapp.post.PostRepository;
+import com.example.authapp.post.HarmfulPostCounter;
 import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.binder.MeterBinder;
@@ -9,17 +9,15 @@ import org.springframework.boot.actuate.health.HealthComponent;
 import org.springframework.boot.actuate.health.HealthEndpoint;
 import org.springframework.stereotype.Component;
 
-import java.time.LocalDate;
-
 @Component
 public class AdminMetricsBinder implements MeterBinder {
 
-    private final PostRepository postRepository;
+    private final HarmfulPostCounter harmfulPostCounter;
     private final HealthEndpoint healthEndpoint;
 
-    public AdminMetricsBinder(PostRepository postRepository,
+    public AdminMetricsBinder(HarmfulPostCounter harmfulPostCounter,
                               HealthEndpoint healthEndpoint) {
-        this.postRepository = postRepository;
+        this.harmfulPostCounter = harmfulPostCounter;
         this.healthEndpoint = healthEndpoint;
     }
 
@@ -40,7 +38,7 @@ public class AdminMetricsBinder implements MeterBinder {
     }
 
     double countHarmfulPostsToday() {
-        return postRepository.countHarmfulSince(LocalDate.now().atStartOfDay());
+        return harmfulPostCounter.countToday();
     }
 
     double healthStatusValue(String component) {
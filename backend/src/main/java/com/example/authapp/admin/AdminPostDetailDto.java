@@ -26,7 +26,7 @@ public record AdminPostDetailDto(
         List<CommentView> comments,
         List<ImageModerationView> imageModerations,
         TextModerationView textModeration,
-        VideoModerationView videoModeration
+        List<VideoModerationView> videoModerations
 ) {
 
     public record CommentView(Long id, Long authorId, String authorUsername, String content, boolean blocked, LocalDateTime createdAt) {
@@ -42,12 +42,10 @@ public record AdminPostDetailDto(
         }
     }
 
-    public record VideoModerationView(String status, String moderationResult) {
+    public record VideoModerationView(String s3ObjectKey, String status, String moderationResult) {
         public static VideoModerationView from(VideoModeration moderation) {
-            if (moderation == null) {
-                return null;
-            }
             return new VideoModerationView(
+                    moderation.getS3ObjectKey(),
                     moderation.getStatus(),
                     moderation.getModerationResult()
             );
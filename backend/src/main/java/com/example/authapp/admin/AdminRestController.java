@@ -174,9 +174,10 @@ public class AdminRestController {
     }
 
     @PostMapping("/notices/upload")
-    public PresignedUploadResponse createNoticeUpload(@RequestBody(required = false) PresignedUploadRequest request) {
+    public PresignedUploadResponse createNoticeUpload(@AuthenticationPrincipal UserDetails userDetails,
+                                                      @RequestBody(required = false) PresignedUploadRequest request) {
         String contentType = request != null ? request.contentType() : null;
-        S3Service.PresignedUpload presigned = s3Service.generatePresignedUpload("notices", contentType);
+        S3Service.PresignedUpload presigned = s3Service.generatePresignedUpload("notices", contentType, userDetails.getUsername());
         return PresignedUploadResponse.from(presigned);
     }
 
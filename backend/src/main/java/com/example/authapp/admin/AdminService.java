@@ -4,6 +4,7 @@ import com.example.authapp.comment.Comment;
 import com.example.authapp.comment.CommentRepository;
 import com.example.authapp.user.CognitoService;
 import com.example.authapp.comment.CommentStatus;
+import com.example.authapp.media.MediaAssetService;
 import com.example.authapp.notice.Notice;
 import com.example.authapp.notice.NoticeService;
 import com.example.authapp.post.Post;
@@ -18,7 +19,6 @@ import com.example.authapp.admin.ResourceNotFoundException;
 import com.example.authapp.user.User;
 import com.example.authapp.user.UserRepository;
 import com.example.authapp.user.UserStatus;
-import com.example.authapp.video.VideoModeration;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
@@ -48,6 +48,7 @@ public class AdminService {
     private final DisciplinaryService disciplinaryService;
     private final ReportRepository reportRepository;
     private final CognitoService cognitoService;
+    private final MediaAssetService mediaAssetService;
 
     public AdminService(AdminReviewItemRepository adminReviewItemRepository,
                         PostRepository postRepository,
@@ -56,7 +57,8 @@ public class AdminService {
                         CommentRepository commentRepository,
                         DisciplinaryService disciplinaryService,
                         ReportRepository reportRepository,
-                        CognitoService cognitoService) {
+                        CognitoService cognitoService,
+                        MediaAssetService mediaAssetService) {
         this.adminReviewItemRepository = adminReviewItemRepository;
         this.postRepository = postRepository;
         this.userRepository = userRepository;
@@ -65,6 +67,7 @@ public class AdminService {
         this.disciplinaryService = disciplinaryService;
         this.reportRepository = reportRepository;
         this.cognitoService = cognitoService;
+        this.mediaAssetService = mediaAssetService;
     }
 
     public List<AdminReviewItem> getPendingReviewItems() {
@@ -236,6 +239,7 @@ public class AdminService {
 
         post.remove();
         postRepository.save(post);
+        mediaAssetService.detachPost(postId);
 
         if (author != null) {
             boolean wasPreviouslyRemoved = previousStatus == PostStatus.REMOVED;
@@ -454,7 +458,9 @@ public class AdminService {
                 .map(AdminPostDetailDto.ImageModerationView::from)
                 .collect(Collectors.toList());
 
-        VideoModeration videoModeration = post.getVideoModeration();
+        List<AdminPostDetailDto.VideoModerationView> videoModerations = post.getVideoModerations().stream()
+                .map(AdminPostDetailDto.VideoModerationView::from)
+                .collect(Collectors.toList());
 
         return new AdminPostDetailDto(
                 post.getId(),
@@ -476,7 +482,7 @@ public class AdminService {
                 comments,
                 imageModerations,
                 AdminPostDetailDto.TextModerationView.from(post.getTextModeration()),
-                AdminPostDetailDto.VideoModerationView.from(videoModeration)
+                videoModerations
         );
     }
 
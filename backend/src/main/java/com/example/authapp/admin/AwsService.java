@@ -14,6 +14,9 @@ import com.example.authapp.admin.AdminReviewItem.ReviewStatus;
 import com.example.authapp.config.AppProperties;
 import com.example.authapp.image.ImageModeration;
 import com.example.authapp.image.ImageModerationRepository;
+import com.example.authapp.media.MediaAsset;
+import com.example.authapp.media.MediaAssetService;
+import com.example.authapp.media.MediaModerationState;
 import com.example.authapp.post.Post;
 import com.example.authapp.post.PostRepository;
 import com.example.authapp.video.VideoModeration;
@@ -51,6 +54,7 @@ public class AwsService {
     private final ObjectMapper objectMapper;
     private final String awsRegion;
     private final VideoModerationRepository videoModerationRepository;
+    private final MediaAssetService mediaAssetService;
 
     @Value("${cloud.aws.cloudfront.domain:}")
     private String cloudfrontDomain;
@@ -63,7 +67,8 @@ public class AwsService {
                       AdminReviewItemRepository adminReviewItemRepository,
                       NotificationService notificationService,
                       ObjectMapper objectMapper,
-                      VideoModerationRepository videoModerationRepository) {
+                      VideoModerationRepository videoModerationRepository,
+                      MediaAssetService mediaAssetService) {
         this.amazonS3 = amazonS3;
         this.rekognition = rekognition;
         this.bucketName = appProperties.getAws().getBucketName();
@@ -74,6 +79,7 @@ public class AwsService {
         this.notificationService = notificationService;
         this.objectMapper = objectMapper;
         this.videoModerationRepository = videoModerationRepository;
+        this.mediaAssetService = mediaAssetService;
         if (this.bucketName == null || this.bucketName.isEmpty()) {
             throw new IllegalStateException("AWS bucket name is not configured (app.aws.bucket-name)");
         }
@@ -142,20 +148,11 @@ public class AwsService {
         }
 
         String moderationJson = serializeLabels(labels);
-        List<String> candidateUrls = buildCandidateUrls(objectKey);
-        if (candidateUrls.isEmpty()) {
-            return;
-        }
-
-        var postToMatchedUrls = candidateUrls.stream()
-                .flatMap(url -> postRepository.findByFileUrl(url).stream()
-                        .map(post -> java.util.Map.entry(post, url)))
-                .collect(Collectors.groupingBy(java.util.Map.Entry::getKey,
-                        Collectors.mapping(java.util.Map.Entry::getValue, Collectors.toList())));
-
+        Map<Post, List<String>> postToMatchedUrls = resolveOwners(objectKey);
         if (postToMatchedUrls.isEmpty()) {
             return;
         }
+        mediaAssetService.markModeration(objectKey, MediaModerationState.FLAGGED);
 
         for (var entry : postToMatchedUrls.entrySet()) {
             Post post = entry.getKey();
@@ -187,6 +184,24 @@ public class AwsService {
         }
     }
 
+    private Map<Post, List<String>> resolveOwners(String objectKey) {
+        Optional<MediaAsset> asset = mediaAssetService.findSoleOwner(objectKey)
+                .filter(found -> found.getUrl() != null);
+        if (asset.isPresent()) {
+            Optional<Post> owner = postRepository.findById(asset.get().getPostId());
+            if (owner.isPresent()) {
+                return Map.of(owner.get(), List.of(asset.get().getUrl()));
+            }
+        }
+
+        // Shared uploads, and uploads from before media_asset existed, are only reachable through their URLs.
+        return buildCandidateUrls(objectKey).stream()
+                .flatMap(url -> postRepository.findByFileUrl(url).stream()
+                        .map(post -> Map.entry(post, url)))
+                .collect(Collectors.groupingBy(Map.Entry::getKey,
+                        Collectors.mapping(Map.Entry::getValue, Collectors.toList())));
+    }
+
     private ImageModeration createModeration(Post post, String imageUrl) {
         ImageModeration moderation = new ImageModeration();
         moderation.setPost(post);
@@ -252,7 +267,7 @@ public class AwsService {
     }
 
     private List<RekognitionLabelDto> loadVideoModerationLabels(String objectKey) {
-        Optional<VideoModeration> moderationOpt = videoModerationRepository.findByS3ObjectKey(objectKey);
+        Optional<VideoModeration> moderationOpt = videoModerationRepository.findFirstByS3ObjectKeyOrderByIdDesc(objectKey);
         if (moderationOpt.isEmpty()) {
             log.debug("No video moderation record found for objectKey={}", objectKey);
             return List.of();
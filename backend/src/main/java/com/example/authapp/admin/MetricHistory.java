@@ -0,0 +1,151 @@
+package com.example.authapp.admin;
+
+import com.example.authapp.service.dto.SystemMetricPoint;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fixed-size, in-process history of CPU, heap, request and error samples taken from the
+ * {@link MeterRegistry}. Samples live in parallel primitive arrays used as a ring buffer
+ * that covers {@link #RETENTION}; older samples are overwritten.
+ */
+@Component
+public class MetricHistory {
+
+    static final Duration RETENTION = Duration.ofHours(24);
+
+    private final MeterRegistry meterRegistry;
+    private final int capacity;
+    private final long[] timestamps;
+    private final double[] cpu;
+    private final double[] heapBytes;
+    private final double[] requests;
+    private final double[] errors;
+    private int next;
+    private int size;
+    private double lastRequestTotal = Double.NaN;
+    private double lastErrorTotal = Double.NaN;
+
+    public MetricHistory(MeterRegistry meterRegistry,
+                         @Value("${app.admin.metrics-sample-interval-ms:10000}") long sampleIntervalMs) {
+        this.meterRegistry = meterRegistry;
+        this.capacity = (int) Math.max(1, RETENTION.toMillis() / Math.max(1000, sampleIntervalMs));
+        this.timestamps = new long[capacity];
+        this.cpu = new double[capacity];
+        this.heapBytes = new double[capacity];
+        this.requests = new double[capacity];
+        this.errors = new double[capacity];
+    }
+
+    @Scheduled(fixedRateString = "${app.admin.metrics-sample-interval-ms:10000}")
+    public void sample() {
+        double cpuUsage = gaugeValue(meterRegistry.find("system.cpu.usage").gauges());
+        double heap = gaugeValue(meterRegistry.find("jvm.memory.used").tag("area", "heap").gauges());
+        double requestTotal = timerCount(meterRegistry.find("http.server.requests").timers());
+        double errorTotal = timerCount(meterRegistry.find("http.server.requests").tag("outcome", "SERVER_ERROR").timers());
+
+        synchronized (this) {
+            // Timers can disappear and come back, so a drop in the total counts as no traffic.
+            double requestDelta = Double.isNaN(lastRequestTotal) ? 0 : Math.max(0, requestTotal - lastRequestTotal);
+            double errorDelta = Double.isNaN(lastErrorTotal) ? 0 : Math.max(0, errorTotal - lastErrorTotal);
+            lastRequestTotal = requestTotal;
+            lastErrorTotal = errorTotal;
+            record(System.currentTimeMillis(), cpuUsage, heap, requestDelta, errorDelta);
+        }
+    }
+
+    synchronized void record(long epochMs, double cpuUsage, double heap, double requestDelta, double errorDelta) {
+        timestamps[next] = epochMs;
+        cpu[next] = cpuUsage;
+        heapBytes[next] = heap;
+        requests[next] = requestDelta;
+        errors[next] = errorDelta;
+        next = (next + 1) % capacity;
+        size = Math.min(capacity, size + 1);
+    }
+
+    /**
+     * The last {@code window} folded into {@code points} equal buckets. CPU and heap are
+     * averaged, requests are summed and the error rate is errors over requests per bucket.
+     * Buckets without samples are left out.
+     */
+    public List<SystemMetricPoint> view(Duration window, int points) {
+        int buckets = Math.max(1, points);
+        long now = System.currentTimeMillis();
+        long bucketMs = Math.max(1, window.toMillis() / buckets);
+        long from = now - bucketMs * buckets;
+
+        int[] count = new int[buckets];
+        double[] cpuSum = new double[buckets];
+        double[] heapSum = new double[buckets];
+        double[] requestSum = new double[buckets];
+        double[] errorSum = new double[buckets];
+
+        synchronized (this) {
+            int oldest = (next - size + capacity) % capacity;
+            for (int i = 0; i < size; i++) {
+                int slot = (oldest + i) % capacity;
+                long at = timestamps[slot];
+                if (at < from || at > now) {
+                    continue;
+                }
+                int bucket = (int) Math.min(buckets - 1, (at - from) / bucketMs);
+                count[bucket]++;
+                cpuSum[bucket] += cpu[slot];
+                heapSum[bucket] += heapBytes[slot];
+                requestSum[bucket] += requests[slot];
+                errorSum[bucket] += errors[slot];
+            }
+        }
+
+        ZoneId zone = ZoneId.systemDefault();
+        List<SystemMetricPoint> series = new ArrayList<>();
+        for (int bucket = 0; bucket < buckets; bucket++) {
+            if (count[bucket] == 0) {
+                continue;
+            }
+            series.add(new SystemMetricPoint(
+                    LocalDateTime.ofInstant(Instant.ofEpochMilli(from + bucket * bucketMs), zone),
+                    percentClamp(cpuSum[bucket] / count[bucket]),
+                    heapSum[bucket] / count[bucket] / (1024.0 * 1024.0),
+                    requestSum[bucket],
+                    requestSum[bucket] > 0 ? percentClamp(errorSum[bucket] / requestSum[bucket]) : 0
+            ));
+        }
+        return series;
+    }
+
+    private static double gaugeValue(Iterable<Gauge> gauges) {
+        double total = 0;
+        for (Gauge gauge : gauges) {
+            double value = gauge.value();
+            if (!Double.isNaN(value)) {
+                total += value;
+            }
+        }
+        return total;
+    }
+
+    private static double timerCount(Iterable<Timer> timers) {
+        double total = 0;
+        for (Timer timer : timers) {
+            total += timer.count();
+        }
+        return total;
+    }
+
+    private static double percentClamp(double ratio) {
+        return Math.min(100, Math.max(0, ratio * 100));
+    }
+}
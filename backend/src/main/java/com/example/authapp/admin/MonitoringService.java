@@ -1,6 +1,6 @@
 package com.example.authapp.admin;
 
-import com.example.authapp.post.PostRepository;
+import com.example.authapp.post.HarmfulPostCounter;
 import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Tags;
@@ -10,21 +10,20 @@ import org.springframework.boot.actuate.health.HealthComponent;
 import org.springframework.boot.actuate.health.HealthEndpoint;
 import org.springframework.stereotype.Service;
 
-import java.time.LocalDate;
 import java.util.Collection;
 
 @Service
 public class MonitoringService {
 
     private final MeterRegistry meterRegistry;
-    private final PostRepository postRepository;
+    private final HarmfulPostCounter harmfulPostCounter;
     private final HealthEndpoint healthEndpoint;
 
     public MonitoringService(MeterRegistry meterRegistry,
-                             PostRepository postRepository,
+                             HarmfulPostCounter harmfulPostCounter,
                              HealthEndpoint healthEndpoint) {
         this.meterRegistry = meterRegistry;
-        this.postRepository = postRepository;
+        this.harmfulPostCounter = harmfulPostCounter;
         this.healthEndpoint = healthEndpoint;
     }
 
@@ -35,7 +34,7 @@ public class MonitoringService {
         double errorRequests = readTimerCount("http.server.requests", "outcome", "SERVER_ERROR");
         double errorRate = totalRequests > 0 ? errorRequests / totalRequests : 0.0;
 
-        long harmfulPostsToday = postRepository.countHarmfulSince(LocalDate.now().atStartOfDay());
+        long harmfulPostsToday = harmfulPostCounter.countToday();
 
         String ec2Status = resolveHealthStatus("ec2");
         String rdsStatus = resolveHealthStatus("db");
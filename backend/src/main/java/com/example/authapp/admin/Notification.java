@@ -9,7 +9,11 @@ import java.time.LocalDateTime;
 @Getter
 @Setter
 @Entity
-@Table(name = "notifications")
+@Table(name = "notifications", indexes = {
+        @Index(name = "idx_notifications_read", columnList = "is_read"),
+        @Index(name = "idx_notifications_pending_post", columnList = "type, is_read, subject_post_id"),
+        @Index(name = "idx_notifications_pending_comment", columnList = "type, is_read, subject_comment_id")
+})
 public class Notification {
 
     @Id
@@ -26,6 +30,13 @@ public class Notification {
     @Column(nullable = false)
     private Long targetId;
 
+    // Post/comment a content warning is about, so pending warnings can be merged by key.
+    @Column(name = "subject_post_id")
+    private Long subjectPostId;
+
+    @Column(name = "subject_comment_id")
+    private Long subjectCommentId;
+
     @Column(name = "is_read", nullable = false)
     private boolean read;
 
@@ -0,0 +1,146 @@
+package com.example.authapp.admin;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coalesces admin notification pushes. Notifications are queued after the surrounding
+ * transaction commits, collapsed by id (the latest state wins) and sent to
+ * {@value #DESTINATION} as one list frame per flush window.
+ */
+@Component
+public class NotificationPublisher {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationPublisher.class);
+    static final String DESTINATION = "/topic/admin/notifications";
+    static final String READ_DESTINATION = "/topic/admin/notifications/read";
+    private static final int MAX_FRAME_SIZE = 100;
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final Map<Long, NotificationDto> pending = new LinkedHashMap<>();
+    private final ScheduledExecutorService flusher;
+    private final DistributionSummary frameSizes;
+    private long pendingReadUpToId;
+
+    public NotificationPublisher(SimpMessagingTemplate messagingTemplate,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${app.notification.flush-interval-ms:250}") long flushIntervalMs) {
+        this.messagingTemplate = messagingTemplate;
+        this.frameSizes = DistributionSummary.builder("community_admin_notification_frame_size")
+                .description("Notifications carried per admin WebSocket frame")
+                .register(meterRegistry);
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "admin-notification-publisher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = Math.max(10, flushIntervalMs);
+        this.flusher.scheduleWithFixedDelay(this::flushQuietly, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    public void publish(NotificationDto notification) {
+        publishAll(List.of(notification));
+    }
+
+    public void publishAll(Collection<NotificationDto> notifications) {
+        if (notifications.isEmpty()) {
+            return;
+        }
+        List<NotificationDto> snapshot = List.copyOf(notifications);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(snapshot);
+                }
+            });
+        } else {
+            enqueue(snapshot);
+        }
+    }
+
+    /**
+     * Tells admin clients that every notification up to {@code upToId} is read,
+     * instead of re-sending each one.
+     */
+    public void publishAllRead(long upToId) {
+        Runnable enqueue = () -> {
+            synchronized (pending) {
+                pendingReadUpToId = Math.max(pendingReadUpToId, upToId);
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue.run();
+                }
+            });
+        } else {
+            enqueue.run();
+        }
+    }
+
+    private void enqueue(List<NotificationDto> notifications) {
+        synchronized (pending) {
+            for (NotificationDto notification : notifications) {
+                pending.remove(notification.id());
+                pending.put(notification.id(), notification);
+            }
+        }
+    }
+
+    void flush() {
+        List<NotificationDto> batch;
+        long readUpToId;
+        synchronized (pending) {
+            if (pending.isEmpty() && pendingReadUpToId == 0) {
+                return;
+            }
+            batch = new ArrayList<>(pending.values());
+            pending.clear();
+            readUpToId = pendingReadUpToId;
+            pendingReadUpToId = 0;
+        }
+        for (int from = 0; from < batch.size(); from += MAX_FRAME_SIZE) {
+            List<NotificationDto> frame = batch.subList(from, Math.min(batch.size(), from + MAX_FRAME_SIZE));
+            frameSizes.record(frame.size());
+            messagingTemplate.convertAndSend(DESTINATION, frame);
+        }
+        // Sent after the items so clients apply it on top of anything queued before the mark-all.
+        if (readUpToId > 0) {
+            messagingTemplate.convertAndSend(READ_DESTINATION, Map.of("readUpToId", readUpToId));
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException ex) {
+            log.warn("Failed to push admin notifications: {}", ex.getMessage());
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        flusher.shutdown();
+        flushQuietly();
+    }
+}
@@ -3,8 +3,12 @@ package com.example.authapp.admin;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
+import java.util.Optional;
 import java.time.LocalDateTime;
 
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
@@ -13,11 +17,18 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
 
     List<Notification> findTop10ByOrderByCreatedAtDesc();
 
-    List<Notification> findByReadFalseOrderByCreatedAtDesc();
+    Optional<Notification> findFirstByTypeAndReadFalseAndSubjectPostIdOrderByCreatedAtDesc(NotificationType type, Long subjectPostId);
 
-    List<Notification> findByTypeAndReadFalseOrderByCreatedAtDesc(NotificationType type);
+    Optional<Notification> findFirstByTypeAndReadFalseAndSubjectCommentIdOrderByCreatedAtDesc(NotificationType type, Long subjectCommentId);
 
     Page<Notification> findAllByOrderByCreatedAtDesc(Pageable pageable);
 
+    @Query("SELECT MAX(n.id) FROM Notification n WHERE n.read = false")
+    Long findMaxUnreadId();
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Notification n SET n.read = true WHERE n.read = false AND n.id <= :upToId")
+    int markAllReadUpTo(@Param("upToId") Long upToId);
+
     long deleteByCreatedAtBefore(LocalDateTime cutoff);
 }
@@ -27,13 +27,39 @@ public class NotificationSchemaInitializer implements ApplicationRunner {
                         type VARCHAR(32) NOT NULL,
                         message VARCHAR(255) NOT NULL,
                         target_id BIGINT NOT NULL,
+                        subject_post_id BIGINT NULL,
+                        subject_comment_id BIGINT NULL,
                         is_read BIT(1) NOT NULL DEFAULT 0,
-                        created_at DATETIME NOT NULL
+                        created_at DATETIME NOT NULL,
+                        INDEX idx_notifications_read (is_read),
+                        INDEX idx_notifications_pending_post (type, is_read, subject_post_id),
+                        INDEX idx_notifications_pending_comment (type, is_read, subject_comment_id)
                     ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4
                     """);
             log.info("Verified notifications table existence.");
         } catch (Exception ex) {
             log.error("Failed to ensure notifications table exists", ex);
+            return;
+        }
+        backfillWarningSubjects();
+    }
+
+    private void backfillWarningSubjects() {
+        try {
+            int updated = jdbcTemplate.update("""
+                    UPDATE notifications n
+                    JOIN admin_review_item a ON a.id = n.target_id
+                    SET n.subject_post_id = a.post_id, n.subject_comment_id = a.comment_id
+                    WHERE n.type = 'CONTENT_WARNING'
+                      AND n.is_read = 0
+                      AND n.subject_post_id IS NULL
+                      AND n.subject_comment_id IS NULL
+                    """);
+            if (updated > 0) {
+                log.info("Backfilled subject ids for {} unread content warnings.", updated);
+            }
+        } catch (Exception ex) {
+            log.warn("Failed to backfill notification subject ids: {}", ex.getMessage());
         }
     }
 }
@@ -7,15 +7,15 @@ import com.example.authapp.post.PostRepository;
 import com.example.authapp.report.Report;
 import com.example.authapp.report.ReportRepository;
 import com.example.authapp.report.ReportType;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 import java.util.List;
-import java.util.stream.Collectors;
 import java.util.Map;
 import java.util.LinkedHashSet;
 import java.util.Set;
@@ -23,36 +23,48 @@ import java.util.Set;
 @Service
 public class NotificationService {
 
-    private static final String DESTINATION = "/topic/admin/notifications";
-
     private final NotificationRepository notificationRepository;
-    private final SimpMessagingTemplate messagingTemplate;
+    private final NotificationPublisher notificationPublisher;
     private final PostRepository postRepository;
     private final CommentRepository commentRepository;
     private final ReportRepository reportRepository;
     private final AdminReviewItemRepository adminReviewItemRepository;
+    private final Timer mergedLatency;
+    private final Timer createdLatency;
 
     public NotificationService(NotificationRepository notificationRepository,
-                               SimpMessagingTemplate messagingTemplate,
+                               NotificationPublisher notificationPublisher,
                                PostRepository postRepository,
                                CommentRepository commentRepository,
                                ReportRepository reportRepository,
-                               AdminReviewItemRepository adminReviewItemRepository) {
+                               AdminReviewItemRepository adminReviewItemRepository,
+                               MeterRegistry meterRegistry) {
         this.notificationRepository = notificationRepository;
-        this.messagingTemplate = messagingTemplate;
+        this.notificationPublisher = notificationPublisher;
         this.postRepository = postRepository;
         this.commentRepository = commentRepository;
         this.reportRepository = reportRepository;
         this.adminReviewItemRepository = adminReviewItemRepository;
+        this.mergedLatency = warningTimer(meterRegistry, "merged");
+        this.createdLatency = warningTimer(meterRegistry, "created");
+    }
+
+    private static Timer warningTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("community_admin_content_warning_latency")
+                .description("Time to record a content warning notification")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
     }
 
     @Transactional
     public NotificationDto notifyAdmin(AdminReviewItem item) {
+        Timer.Sample sample = Timer.start();
         NotificationContext context = buildContextForReviewItem(item);
 
         // Deduplicate: if a pending content warning for the same post/comment exists, merge labels.
-        NotificationDto merged = tryMergeContentWarning(item, context);
+        NotificationDto merged = tryMergeContentWarning(item);
         if (merged != null) {
+            sample.stop(mergedLatency);
             return merged;
         }
 
@@ -60,9 +72,13 @@ public class NotificationService {
         notification.setType(NotificationType.CONTENT_WARNING);
         notification.setMessage(context.message());
         notification.setTargetId(item.getId());
+        notification.setSubjectPostId(item.getPost() != null ? item.getPost().getId() : null);
+        notification.setSubjectCommentId(item.getComment() != null ? item.getComment().getId() : null);
         notification.setRead(false);
 
-        return dispatch(notification, context);
+        NotificationDto dto = dispatch(notification, context);
+        sample.stop(createdLatency);
+        return dto;
     }
 
     @Transactional
@@ -98,30 +114,27 @@ public class NotificationService {
             if (!notification.isRead()) {
                 notification.markRead();
                 notificationRepository.save(notification);
-                messagingTemplate.convertAndSend(DESTINATION, toDto(notification));
+                notificationPublisher.publish(toDto(notification));
             }
         });
     }
 
     @Transactional
     public void markAllAsRead() {
-        List<Notification> unread = notificationRepository.findByReadFalseOrderByCreatedAtDesc();
-        if (unread.isEmpty()) {
+        Long upToId = notificationRepository.findMaxUnreadId();
+        if (upToId == null) {
             return;
         }
-
-        unread.forEach(Notification::markRead);
-        notificationRepository.saveAll(unread);
-
-        List<NotificationDto> payload = unread.stream().map(this::toDto).collect(Collectors.toList());
-        messagingTemplate.convertAndSend(DESTINATION, payload);
+        // Warnings created after this point stay unread; the push only says "read up to this id".
+        notificationRepository.markAllReadUpTo(upToId);
+        notificationPublisher.publishAllRead(upToId);
     }
 
     private NotificationDto dispatch(Notification notification, NotificationContext context) {
         Notification saved = notificationRepository.save(notification);
         NotificationContext resolved = context != null ? context : resolveContext(saved);
         NotificationDto dto = toDto(saved, resolved);
-        messagingTemplate.convertAndSend(DESTINATION, dto);
+        notificationPublisher.publish(dto);
         return dto;
     }
 
@@ -178,7 +191,7 @@ public class NotificationService {
         return NotificationContext.fallback(notification.getMessage());
     }
 
-    private NotificationDto tryMergeContentWarning(AdminReviewItem item, NotificationContext newContext) {
+    private NotificationDto tryMergeContentWarning(AdminReviewItem item) {
         // Only attempt merge when we can resolve a stable target (post or comment).
         Long postId = item.getPost() != null ? item.getPost().getId() : null;
         Long commentId = item.getComment() != null ? item.getComment().getId() : null;
@@ -186,29 +199,37 @@ public class NotificationService {
             return null;
         }
 
-        List<Notification> unreadWarnings = notificationRepository
-                .findByTypeAndReadFalseOrderByCreatedAtDesc(NotificationType.CONTENT_WARNING);
-        for (Notification existing : unreadWarnings) {
-            NotificationContext existingContext = resolveContext(existing);
-            AdminReviewItem existingItem = adminReviewItemRepository.findById(existing.getTargetId()).orElse(null);
-            if (existingItem == null) continue;
-            Long existingPostId = existingItem.getPost() != null ? existingItem.getPost().getId() : null;
-            Long existingCommentId = existingItem.getComment() != null ? existingItem.getComment().getId() : null;
-
-            boolean samePost = postId != null && postId.equals(existingPostId);
-            boolean sameComment = commentId != null && commentId.equals(existingCommentId);
-            if (!samePost && !sameComment) {
-                continue;
-            }
+        Notification existing = findPendingWarning(postId, commentId);
+        if (existing == null) {
+            return null;
+        }
+        AdminReviewItem existingItem = adminReviewItemRepository.findById(existing.getTargetId()).orElse(null);
+        if (existingItem == null) {
+            return null;
+        }
+
+        // Merge detection labels using all pending review items for the same target.
+        NotificationContext existingContext = buildContextForReviewItem(existingItem).withMessage(existing.getMessage());
+        NotificationContext mergedContext = existingContext.withDetectionLabel(aggregateDetectionLabels(existingItem));
+        NotificationDto dto = toDto(existing, mergedContext);
+        notificationPublisher.publish(dto);
+        return dto;
+    }
 
-            // Merge detection labels using all pending review items for the same target.
-            String mergedLabel = aggregateDetectionLabels(existingItem);
-            NotificationContext mergedContext = existingContext.withDetectionLabel(mergedLabel);
-            NotificationDto dto = toDto(existing, mergedContext);
-            messagingTemplate.convertAndSend(DESTINATION, dto);
-            return dto;
+    /**
+     * Newest unread content warning about the same post or the same comment.
+     */
+    private Notification findPendingWarning(Long postId, Long commentId) {
+        Notification byPost = postId == null ? null : notificationRepository
+                .findFirstByTypeAndReadFalseAndSubjectPostIdOrderByCreatedAtDesc(NotificationType.CONTENT_WARNING, postId)
+                .orElse(null);
+        Notification byComment = commentId == null ? null : notificationRepository
+                .findFirstByTypeAndReadFalseAndSubjectCommentIdOrderByCreatedAtDesc(NotificationType.CONTENT_WARNING, commentId)
+                .orElse(null);
+        if (byPost == null || byComment == null) {
+            return byPost != null ? byPost : byComment;
         }
-        return null;
+        return byComment.getCreatedAt().isAfter(byPost.getCreatedAt()) ? byComment : byPost;
     }
 
     private NotificationContext buildContextForReviewItem(AdminReviewItem item) {
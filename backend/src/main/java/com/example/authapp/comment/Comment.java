@@ -12,14 +12,20 @@ import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
 import javax.persistence.OneToMany;
+import javax.persistence.Table;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@Table(name = "comment", indexes = {
+        @Index(name = "idx_comment_post_status", columnList = "post_id, status"),
+        @Index(name = "idx_comment_moderation_pending", columnList = "moderation_pending, create_date")
+})
 public class Comment {
 
     @Id
@@ -53,6 +59,10 @@ public class Comment {
     @Column(name = "blocked_at")
     private LocalDateTime blockedAt;
 
+    // True from creation until a moderation verdict is applied; cleared only by CommentRepository.
+    @Column(name = "moderation_pending", nullable = false, updatable = false, columnDefinition = "bit(1) default 0")
+    private boolean moderationPending;
+
     public void markReported(boolean isReported) {
         this.isReported = isReported;
     }
@@ -141,4 +151,12 @@ public class Comment {
     public void setBlockedAt(LocalDateTime blockedAt) {
         this.blockedAt = blockedAt;
     }
+
+    public boolean isModerationPending() {
+        return moderationPending;
+    }
+
+    public void setModerationPending(boolean moderationPending) {
+        this.moderationPending = moderationPending;
+    }
 }
@@ -0,0 +1,217 @@
+package com.example.authapp.comment;
+
+import com.example.authapp.config.AppProperties;
+import com.example.authapp.moderation.service.TextModerationEngine;
+import com.example.authapp.post.TextModerationOutcome;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Collects newly created comments for a few milliseconds (or until a batch is full)
+ * and moderates them together through {@link TextModerationEngine#moderateBatch},
+ * then applies each verdict to its own comment. Comments are saved with
+ * {@code moderation_pending} set and it is cleared with the verdict, so anything the
+ * in-memory queue loses to a crash or deploy is re-queued by {@link #recoverStalePending}.
+ */
+@Component
+public class CommentModerationBatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(CommentModerationBatcher.class);
+    private static final String LANGUAGE_CODE = "ko";
+    private static final int PENDING_CAPACITY = 1000;
+
+    private final TextModerationEngine textModerationEngine;
+    private final CommentModerationService commentModerationService;
+    private final CommentRepository commentRepository;
+    private final BlockingQueue<PendingComment> pending = new ArrayBlockingQueue<>(PENDING_CAPACITY);
+    private final ThreadPoolExecutor workers;
+    private final Thread collector;
+    private final DistributionSummary batchSizes;
+    private final int batchSize;
+    private final long batchWaitNanos;
+    private final int staleAfterMinutes;
+    private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+    private volatile boolean running = true;
+
+    public CommentModerationBatcher(TextModerationEngine textModerationEngine,
+                                    CommentModerationService commentModerationService,
+                                    CommentRepository commentRepository,
+                                    AppProperties appProperties,
+                                    MeterRegistry meterRegistry) {
+        this.textModerationEngine = textModerationEngine;
+        this.commentModerationService = commentModerationService;
+        this.commentRepository = commentRepository;
+
+        AppProperties.Async settings = appProperties.getModeration().getAsync();
+        this.batchSize = Math.max(1, Math.min(25, settings.getCommentBatchSize()));
+        this.batchWaitNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, settings.getCommentBatchWaitMs()));
+        this.staleAfterMinutes = settings.getStaleAfterMinutes();
+
+        int workerCount = Math.max(1, settings.getCommentBatchWorkers());
+        AtomicInteger counter = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(
+                workerCount,
+                workerCount,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(workerCount * 4),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "moderation-comment-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy()
+        );
+
+        Gauge.builder("community_moderation_queue_depth", pending, BlockingQueue::size)
+                .description("Number of moderation tasks waiting for a worker")
+                .tag("stage", "comment")
+                .register(meterRegistry);
+        this.batchSizes = DistributionSummary.builder("community_moderation_comment_batch_size")
+                .description("Number of comments moderated per batch")
+                .register(meterRegistry);
+
+        this.collector = new Thread(this::collectLoop, "moderation-comment-collector");
+        this.collector.setDaemon(true);
+        this.collector.start();
+    }
+
+    /**
+     * Queues a saved comment for moderation. Inside a transaction the comment is only
+     * queued after commit. When the queue is full it is left for {@link #recoverStalePending}.
+     */
+    public void submit(Comment comment) {
+        PendingComment item = new PendingComment(comment.getId(), comment.getContent());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(item);
+                }
+            });
+        } else {
+            enqueue(item);
+        }
+    }
+
+    /**
+     * Re-queues comments still marked pending after the stale window, e.g. because a
+     * restart dropped the in-memory queue or a batch failed.
+     */
+    @Scheduled(fixedDelayString = "${app.moderation.async.recovery-interval-ms:60000}")
+    public void recoverStalePending() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(staleAfterMinutes);
+        List<Comment> stale = commentRepository.findByModerationPendingTrueAndCreateDateBefore(cutoff);
+        if (stale.isEmpty()) {
+            return;
+        }
+        log.warn("Re-queueing {} comments stuck in pending moderation (cutoff={}).", stale.size(), cutoff);
+        stale.forEach(comment -> enqueue(new PendingComment(comment.getId(), comment.getContent())));
+    }
+
+    private void enqueue(PendingComment item) {
+        if (!inFlight.add(item.commentId())) {
+            return;
+        }
+        if (!running || !pending.offer(item)) {
+            // Never moderate on the caller's (request or scheduler) thread; the row is still
+            // marked pending, so the recovery sweep picks it up later.
+            inFlight.remove(item.commentId());
+            log.warn("Comment moderation queue unavailable; leaving commentId={} for recovery", item.commentId());
+        }
+    }
+
+    private void collectLoop() {
+        while (running || !pending.isEmpty()) {
+            try {
+                PendingComment first = pending.poll(500, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                List<PendingComment> batch = new ArrayList<>(batchSize);
+                batch.add(first);
+                long deadline = System.nanoTime() + batchWaitNanos;
+                while (batch.size() < batchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        pending.drainTo(batch, batchSize - batch.size());
+                        break;
+                    }
+                    PendingComment next = pending.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                workers.execute(() -> moderate(batch));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (RuntimeException ex) {
+                log.error("Comment moderation collector failed to dispatch a batch", ex);
+            }
+        }
+    }
+
+    private void moderate(List<PendingComment> batch) {
+        try {
+            batchSizes.record(batch.size());
+            List<String> texts = batch.stream().map(PendingComment::content).toList();
+            List<TextModerationOutcome> outcomes;
+            try {
+                outcomes = textModerationEngine.moderateBatch(texts, LANGUAGE_CODE);
+            } catch (RuntimeException ex) {
+                log.error("Batch moderation failed for {} comments; they stay pending for recovery", batch.size(), ex);
+                return;
+            }
+            for (int i = 0; i < batch.size(); i++) {
+                Long commentId = batch.get(i).commentId();
+                try {
+                    commentModerationService.applyVerdict(commentId, outcomes.get(i));
+                } catch (RuntimeException ex) {
+                    log.error("Failed to apply moderation verdict for commentId={}", commentId, ex);
+                }
+            }
+        } finally {
+            batch.forEach(item -> inFlight.remove(item.commentId()));
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        running = false;
+        try {
+            collector.join(TimeUnit.SECONDS.toMillis(5));
+            workers.shutdown();
+            if (!workers.awaitTermination(10, TimeUnit.SECONDS)) {
+                log.warn("Comment moderation workers did not finish before shutdown.");
+                workers.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            workers.shutdownNow();
+        }
+    }
+
+    private record PendingComment(Long commentId, String content) {
+    }
+}
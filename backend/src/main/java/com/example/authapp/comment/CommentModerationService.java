@@ -0,0 +1,62 @@
+package com.example.authapp.comment;
+
+import com.example.authapp.admin.AdminReviewItem;
+import com.example.authapp.admin.AdminReviewItemRepository;
+import com.example.authapp.admin.NotificationService;
+import com.example.authapp.post.TextModerationOutcome;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+public class CommentModerationService {
+
+    private static final Logger log = LoggerFactory.getLogger(CommentModerationService.class);
+
+    private final CommentRepository commentRepository;
+    private final AdminReviewItemRepository adminReviewItemRepository;
+    private final NotificationService notificationService;
+    private final ObjectMapper objectMapper;
+
+    public CommentModerationService(CommentRepository commentRepository,
+                                    AdminReviewItemRepository adminReviewItemRepository,
+                                    NotificationService notificationService,
+                                    ObjectMapper objectMapper) {
+        this.commentRepository = commentRepository;
+        this.adminReviewItemRepository = adminReviewItemRepository;
+        this.notificationService = notificationService;
+        this.objectMapper = objectMapper;
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void applyVerdict(Long commentId, TextModerationOutcome outcome) {
+        if (outcome == null || outcome.isFailed()) {
+            // No verdict: moderation_pending stays set and the recovery sweep retries it.
+            return;
+        }
+        commentRepository.clearModerationPending(commentId);
+        if (!outcome.shouldNotify()) {
+            return;
+        }
+        Comment comment = commentRepository.findById(commentId).orElse(null);
+        if (comment == null) {
+            log.warn("Skipping comment verdict for commentId={} because the comment no longer exists.", commentId);
+            return;
+        }
+
+        AdminReviewItem adminReviewItem = new AdminReviewItem();
+        adminReviewItem.setPost(comment.getPost());
+        adminReviewItem.setComment(comment);
+        adminReviewItem.setContentType("COMMENT");
+        String originalText = comment.getContent() != null ? comment.getContent() : "";
+        adminReviewItem.setModeratedText("[COMMENT] " + originalText);
+        adminReviewItem.setModerationResult(outcome.serializeModerationResult(objectMapper));
+        adminReviewItem.setInappropriateDetected(true);
+        adminReviewItem.setReviewStatus(AdminReviewItem.ReviewStatus.PENDING);
+        adminReviewItemRepository.save(adminReviewItem);
+        notificationService.notifyAdmin(adminReviewItem);
+    }
+}
@@ -5,8 +5,12 @@ import com.example.authapp.user.User;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
 
@@ -17,6 +21,12 @@ public interface CommentRepository extends JpaRepository<Comment, Long> {
 
     List<Comment> findByPostIdOrderByCreateDateAsc(Long postId);
 
+    List<Comment> findByModerationPendingTrueAndCreateDateBefore(LocalDateTime createDate);
+
+    @Modifying
+    @Query("UPDATE Comment c SET c.moderationPending = false WHERE c.id = :commentId")
+    int clearModerationPending(@Param("commentId") Long commentId);
+
     long countByPostId(Long postId);
 
     Page<Comment> findByPostIdAndStatus(Long postId, CommentStatus status, Pageable pageable);
@@ -27,5 +37,15 @@ public interface CommentRepository extends JpaRepository<Comment, Long> {
 
     long countByPostIdAndStatusIn(Long postId, Collection<CommentStatus> statuses);
 
+    @Query("""
+            SELECT new com.example.authapp.comment.PostCommentCount(c.post.id, COUNT(c))
+            FROM Comment c
+            WHERE c.post.id IN :postIds
+              AND c.status IN :statuses
+            GROUP BY c.post.id
+            """)
+    List<PostCommentCount> countByPostIdInAndStatusIn(@Param("postIds") Collection<Long> postIds,
+                                                      @Param("statuses") Collection<CommentStatus> statuses);
+
     long countByAuthorId(Long authorId);
 }
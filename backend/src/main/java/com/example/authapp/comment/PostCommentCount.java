@@ -0,0 +1,4 @@
+package com.example.authapp.comment;
+
+public record PostCommentCount(Long postId, long count) {
+}
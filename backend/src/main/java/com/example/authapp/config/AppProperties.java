@@ -10,6 +10,9 @@ public class AppProperties {
     private final Aws aws = new Aws();
     private final Monitoring monitoring = new Monitoring();
     private final Moderation moderation = new Moderation();
+    private final Upload upload = new Upload();
+    private final Video video = new Video();
+    private final WebSocket websocket = new WebSocket();
 
     public Aws getAws() {
         return aws;
@@ -23,6 +26,18 @@ public class AppProperties {
         return moderation;
     }
 
+    public Upload getUpload() {
+        return upload;
+    }
+
+    public Video getVideo() {
+        return video;
+    }
+
+    public WebSocket getWebsocket() {
+        return websocket;
+    }
+
     public static class Aws {
         private String accessKey;
         private String secretKey;
@@ -162,6 +177,9 @@ public class AppProperties {
         private String pipelineTopicArn;
         private String pipelineQueueUrl;
         private String adminEmail;
+        private int textCacheMaxEntries = 10_000;
+        private int textCacheTtlMinutes = 60;
+        private final Async async = new Async();
 
         public double getTextBlockThreshold() {
             return textBlockThreshold;
@@ -210,5 +228,343 @@ public class AppProperties {
         public void setAdminEmail(String adminEmail) {
             this.adminEmail = adminEmail;
         }
+
+        public int getTextCacheMaxEntries() {
+            return textCacheMaxEntries;
+        }
+
+        public void setTextCacheMaxEntries(int textCacheMaxEntries) {
+            this.textCacheMaxEntries = textCacheMaxEntries;
+        }
+
+        public int getTextCacheTtlMinutes() {
+            return textCacheTtlMinutes;
+        }
+
+        public void setTextCacheTtlMinutes(int textCacheTtlMinutes) {
+            this.textCacheTtlMinutes = textCacheTtlMinutes;
+        }
+
+        public Async getAsync() {
+            return async;
+        }
+    }
+
+    public static class Async {
+        private int textThreads = 4;
+        private int imageThreads = 4;
+        private int videoThreads = 2;
+        private int queueCapacity = 200;
+        private int staleAfterMinutes = 10;
+        private int commentBatchSize = 25;
+        private long commentBatchWaitMs = 20;
+        private int commentBatchWorkers = 2;
+
+        public int getTextThreads() {
+            return textThreads;
+        }
+
+        public void setTextThreads(int textThreads) {
+            this.textThreads = textThreads;
+        }
+
+        public int getImageThreads() {
+            return imageThreads;
+        }
+
+        public void setImageThreads(int imageThreads) {
+            this.imageThreads = imageThreads;
+        }
+
+        public int getVideoThreads() {
+            return videoThreads;
+        }
+
+        public void setVideoThreads(int videoThreads) {
+            this.videoThreads = videoThreads;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+
+        public int getStaleAfterMinutes() {
+            return staleAfterMinutes;
+        }
+
+        public void setStaleAfterMinutes(int staleAfterMinutes) {
+            this.staleAfterMinutes = staleAfterMinutes;
+        }
+
+        public int getCommentBatchSize() {
+            return commentBatchSize;
+        }
+
+        public void setCommentBatchSize(int commentBatchSize) {
+            this.commentBatchSize = commentBatchSize;
+        }
+
+        public long getCommentBatchWaitMs() {
+            return commentBatchWaitMs;
+        }
+
+        public void setCommentBatchWaitMs(long commentBatchWaitMs) {
+            this.commentBatchWaitMs = commentBatchWaitMs;
+        }
+
+        public int getCommentBatchWorkers() {
+            return commentBatchWorkers;
+        }
+
+        public void setCommentBatchWorkers(int commentBatchWorkers) {
+            this.commentBatchWorkers = commentBatchWorkers;
+        }
+    }
+
+    public static class Upload {
+        private int partSizeMb = 8;
+        private int maxConcurrentUploads = 4;
+        private int acquireTimeoutSeconds = 30;
+        private int partThreads = 8;
+        private int parallelPartsPerUpload = 3;
+        private int partMaxAttempts = 3;
+        private int maxObjectSizeMb = 100;
+        private int presignExpiryMinutes = 30;
+
+        public int getPartSizeMb() {
+            return partSizeMb;
+        }
+
+        public void setPartSizeMb(int partSizeMb) {
+            this.partSizeMb = partSizeMb;
+        }
+
+        public int getMaxConcurrentUploads() {
+            return maxConcurrentUploads;
+        }
+
+        public void setMaxConcurrentUploads(int maxConcurrentUploads) {
+            this.maxConcurrentUploads = maxConcurrentUploads;
+        }
+
+        public int getAcquireTimeoutSeconds() {
+            return acquireTimeoutSeconds;
+        }
+
+        public void setAcquireTimeoutSeconds(int acquireTimeoutSeconds) {
+            this.acquireTimeoutSeconds = acquireTimeoutSeconds;
+        }
+
+        public int getPartThreads() {
+            return partThreads;
+        }
+
+        public void setPartThreads(int partThreads) {
+            this.partThreads = partThreads;
+        }
+
+        public int getParallelPartsPerUpload() {
+            return parallelPartsPerUpload;
+        }
+
+        public void setParallelPartsPerUpload(int parallelPartsPerUpload) {
+            this.parallelPartsPerUpload = parallelPartsPerUpload;
+        }
+
+        public int getPartMaxAttempts() {
+            return partMaxAttempts;
+        }
+
+        public void setPartMaxAttempts(int partMaxAttempts) {
+            this.partMaxAttempts = partMaxAttempts;
+        }
+
+        public int getMaxObjectSizeMb() {
+            return maxObjectSizeMb;
+        }
+
+        public void setMaxObjectSizeMb(int maxObjectSizeMb) {
+            this.maxObjectSizeMb = maxObjectSizeMb;
+        }
+
+        public int getPresignExpiryMinutes() {
+            return presignExpiryMinutes;
+        }
+
+        public void setPresignExpiryMinutes(int presignExpiryMinutes) {
+            this.presignExpiryMinutes = presignExpiryMinutes;
+        }
+    }
+
+    public static class Video {
+        private String sqsEndpoint;
+        private int consumerThreads = 4;
+        private int receiveBatchSize = 10;
+        private int waitTimeSeconds = 20;
+        private int visibilityTimeoutSeconds = 60;
+        private int maxReceiveCount = 5;
+        private String deadLetterQueueName;
+
+        public String getSqsEndpoint() {
+            return sqsEndpoint;
+        }
+
+        public void setSqsEndpoint(String sqsEndpoint) {
+            this.sqsEndpoint = sqsEndpoint;
+        }
+
+        public int getConsumerThreads() {
+            return consumerThreads;
+        }
+
+        public void setConsumerThreads(int consumerThreads) {
+            this.consumerThreads = consumerThreads;
+        }
+
+        public int getReceiveBatchSize() {
+            return receiveBatchSize;
+        }
+
+        public void setReceiveBatchSize(int receiveBatchSize) {
+            this.receiveBatchSize = receiveBatchSize;
+        }
+
+        public int getWaitTimeSeconds() {
+            return waitTimeSeconds;
+        }
+
+        public void setWaitTimeSeconds(int waitTimeSeconds) {
+            this.waitTimeSeconds = waitTimeSeconds;
+        }
+
+        public int getVisibilityTimeoutSeconds() {
+            return visibilityTimeoutSeconds;
+        }
+
+        public void setVisibilityTimeoutSeconds(int visibilityTimeoutSeconds) {
+            this.visibilityTimeoutSeconds = visibilityTimeoutSeconds;
+        }
+
+        public int getMaxReceiveCount() {
+            return maxReceiveCount;
+        }
+
+        public void setMaxReceiveCount(int maxReceiveCount) {
+            this.maxReceiveCount = maxReceiveCount;
+        }
+
+        public String getDeadLetterQueueName() {
+            return deadLetterQueueName;
+        }
+
+        public void setDeadLetterQueueName(String deadLetterQueueName) {
+            this.deadLetterQueueName = deadLetterQueueName;
+        }
+    }
+
+    public static class WebSocket {
+        private String brokerMode = "simple";
+        private String relayHost = "localhost";
+        private int relayPort = 61613;
+        private String relayLogin = "guest";
+        private String relayPasscode = "guest";
+        private String relayVirtualHost;
+        private long heartbeatSendMs = 10000;
+        private long heartbeatReceiveMs = 10000;
+        private int sendTimeLimitMs = 15000;
+        private int sendBufferSizeKb = 512;
+        private int messageSizeLimitKb = 64;
+
+        public String getBrokerMode() {
+            return brokerMode;
+        }
+
+        public void setBrokerMode(String brokerMode) {
+            this.brokerMode = brokerMode;
+        }
+
+        public String getRelayHost() {
+            return relayHost;
+        }
+
+        public void setRelayHost(String relayHost) {
+            this.relayHost = relayHost;
+        }
+
+        public int getRelayPort() {
+            return relayPort;
+        }
+
+        public void setRelayPort(int relayPort) {
+            this.relayPort = relayPort;
+        }
+
+        public String getRelayLogin() {
+            return relayLogin;
+        }
+
+        public void setRelayLogin(String relayLogin) {
+            this.relayLogin = relayLogin;
+        }
+
+        public String getRelayPasscode() {
+            return relayPasscode;
+        }
+
+        public void setRelayPasscode(String relayPasscode) {
+            this.relayPasscode = relayPasscode;
+        }
+
+        public String getRelayVirtualHost() {
+            return relayVirtualHost;
+        }
+
+        public void setRelayVirtualHost(String relayVirtualHost) {
+            this.relayVirtualHost = relayVirtualHost;
+        }
+
+        public long getHeartbeatSendMs() {
+            return heartbeatSendMs;
+        }
+
+        public void setHeartbeatSendMs(long heartbeatSendMs) {
+            this.heartbeatSendMs = heartbeatSendMs;
+        }
+
+        public long getHeartbeatReceiveMs() {
+            return heartbeatReceiveMs;
+        }
+
+        public void setHeartbeatReceiveMs(long heartbeatReceiveMs) {
+            this.heartbeatReceiveMs = heartbeatReceiveMs;
+        }
+
+        public int getSendTimeLimitMs() {
+            return sendTimeLimitMs;
+        }
+
+        public void setSendTimeLimitMs(int sendTimeLimitMs) {
+            this.sendTimeLimitMs = sendTimeLimitMs;
+        }
+
+        public int getSendBufferSizeKb() {
+            return sendBufferSizeKb;
+        }
+
+        public void setSendBufferSizeKb(int sendBufferSizeKb) {
+            this.sendBufferSizeKb = sendBufferSizeKb;
+        }
+
+        public int getMessageSizeLimitKb() {
+            return messageSizeLimitKb;
+        }
+
+        public void setMessageSizeLimitKb(int messageSizeLimitKb) {
+            this.messageSizeLimitKb = messageSizeLimitKb;
+        }
     }
 }
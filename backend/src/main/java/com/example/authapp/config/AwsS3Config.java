@@ -4,6 +4,7 @@ import com.amazonaws.auth.AWSCredentialsProvider;
 import com.amazonaws.auth.AWSStaticCredentialsProvider;
 import com.amazonaws.auth.BasicAWSCredentials;
 import com.amazonaws.auth.DefaultAWSCredentialsProviderChain;
+import com.amazonaws.client.builder.AwsClientBuilder;
 import com.amazonaws.services.comprehend.AmazonComprehend;
 import com.amazonaws.services.comprehend.AmazonComprehendClientBuilder;
 import com.amazonaws.services.ec2.AmazonEC2;
@@ -91,11 +92,17 @@ public class AwsS3Config {
 
     @Bean
     public AmazonSQS amazonSQSClient() {
-        return AmazonSQSClientBuilder
+        AmazonSQSClientBuilder builder = AmazonSQSClientBuilder
                 .standard()
-                .withCredentials(resolveCredentials())
-                .withRegion(appProperties.getAws().getRegion())
-                .build();
+                .withCredentials(resolveCredentials());
+        String endpoint = appProperties.getVideo().getSqsEndpoint();
+        if (endpoint != null && !endpoint.isBlank()) {
+            // Local SQS stand-ins (ElasticMQ, LocalStack) are reached through an explicit endpoint.
+            builder.withEndpointConfiguration(new AwsClientBuilder.EndpointConfiguration(endpoint, appProperties.getAws().getRegion()));
+        } else {
+            builder.withRegion(appProperties.getAws().getRegion());
+        }
+        return builder.build();
     }
 
     @Bean
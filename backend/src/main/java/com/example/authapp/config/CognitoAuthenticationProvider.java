@@ -5,9 +5,12 @@ import com.example.authapp.user.User;
 import com.example.authapp.user.UserService;
 import com.amazonaws.services.cognitoidp.model.AdminInitiateAuthResult;
 import com.amazonaws.services.cognitoidp.model.AuthenticationResultType;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.security.access.AccessDeniedException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.DisabledException;
@@ -17,9 +20,17 @@ import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Component;
 
+import javax.annotation.PreDestroy;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 
 @Component
 public class CognitoAuthenticationProvider implements AuthenticationProvider {
@@ -28,10 +39,47 @@ public class CognitoAuthenticationProvider implements AuthenticationProvider {
 
     private final CognitoService cognitoService;
     private final UserService userService;
-
-    public CognitoAuthenticationProvider(CognitoService cognitoService, UserService userService) {
+    private final ThreadPoolExecutor groupsExecutor;
+    private final Timer localUserTimer;
+    private final Timer signInTimer;
+    private final Timer groupsTimer;
+    private final Timer totalTimer;
+
+    public CognitoAuthenticationProvider(CognitoService cognitoService,
+                                         UserService userService,
+                                         MeterRegistry meterRegistry,
+                                         @Value("${app.auth.login-threads:8}") int loginThreads) {
         this.cognitoService = cognitoService;
         this.userService = userService;
+
+        int threads = Math.max(1, loginThreads);
+        AtomicInteger counter = new AtomicInteger();
+        this.groupsExecutor = new ThreadPoolExecutor(
+                threads,
+                threads,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(threads * 16),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "cognito-groups-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy()
+        );
+
+        this.localUserTimer = phaseTimer(meterRegistry, "local_user");
+        this.signInTimer = phaseTimer(meterRegistry, "cognito_sign_in");
+        this.groupsTimer = phaseTimer(meterRegistry, "groups");
+        this.totalTimer = phaseTimer(meterRegistry, "total");
+    }
+
+    private static Timer phaseTimer(MeterRegistry meterRegistry, String phase) {
+        return Timer.builder("community_login_phase_latency")
+                .description("Login latency by phase")
+                .tag("phase", phase)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
     }
 
     @Override
@@ -39,25 +87,33 @@ public class CognitoAuthenticationProvider implements AuthenticationProvider {
         logger.info("Attempting to authenticate user");
         String username = authentication.getName();
         String password = authentication.getCredentials().toString();
+        Timer.Sample total = Timer.start();
 
+        // The local lookup runs first because it can change the name Cognito must see (case),
+        // and unknown users must not reach AdminInitiateAuth at all.
         User localUser;
         try {
-            localUser = userService.findByUsername(username);
+            localUser = timed(localUserTimer, () -> userService.findByUsername(username));
         } catch (RuntimeException ex) {
             logger.warn("User '{}' not found during authentication", username);
             throw new BadCredentialsException("Invalid username or password.");
         }
 
         try {
+            // Group membership does not depend on the password, so it loads while Cognito signs in.
+            CompletableFuture<List<String>> groupsLookup = CompletableFuture.supplyAsync(
+                    () -> timed(groupsTimer, () -> cognitoService.listGroups(localUser.getUsername())), groupsExecutor);
+
             logger.info("Authenticating user '{}' against Cognito", username);
-            AdminInitiateAuthResult authResult = cognitoService.signIn(localUser.getUsername(), password);
+            AdminInitiateAuthResult authResult = timed(signInTimer,
+                    () -> cognitoService.signIn(localUser.getUsername(), password));
             AuthenticationResultType tokens = authResult.getAuthenticationResult();
             logger.info("User '{}' successfully authenticated against Cognito", username);
 
             userService.enforceLoginRestrictions(localUser);
             logger.info("User '{}' found in local database and passed login restrictions", username);
 
-            List<String> groups = cognitoService.listGroups(localUser.getUsername());
+            List<String> groups = await(groupsLookup);
             boolean isCognitoAdmin = groups.stream().anyMatch(g -> "admin".equalsIgnoreCase(g));
 
             boolean isDbAdmin = localUser.getRole() == com.example.authapp.user.Role.ADMIN;
@@ -88,6 +144,7 @@ public class CognitoAuthenticationProvider implements AuthenticationProvider {
 
             authenticationToken.setDetails(tokens);
 
+            total.stop(totalTimer);
             return authenticationToken;
         } catch (DisabledException ex) {
             logger.warn("Authentication blocked for disabled user '{}': {}", username, ex.getMessage());
@@ -100,6 +157,31 @@ public class CognitoAuthenticationProvider implements AuthenticationProvider {
         }
     }
 
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    private static <T> T timed(Timer timer, Supplier<T> action) {
+        Timer.Sample sample = Timer.start();
+        try {
+            return action.get();
+        } finally {
+            sample.stop(timer);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        groupsExecutor.shutdown();
+    }
+
     @Override
     public boolean supports(Class<?> authentication) {
         return authentication.equals(UsernamePasswordAuthenticationToken.class);
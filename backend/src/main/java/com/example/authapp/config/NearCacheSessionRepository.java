@@ -0,0 +1,364 @@
+package com.example.authapp.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.session.FindByIndexNameSessionRepository;
+import org.springframework.session.MapSession;
+import org.springframework.session.Session;
+import org.springframework.session.jdbc.JdbcIndexedSessionRepository;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Sits in front of the JDBC session store. Sessions are read from a short-lived local
+ * cache (requests share the cached snapshot and keep their own writes), requests that
+ * only touch the last-access time are coalesced and written in one batch every few
+ * seconds, and only attribute, timeout or id changes go through the JDBC repository
+ * immediately.
+ * <p>
+ * Other instances see a logout or attribute change once their cached copy expires, so
+ * the TTL is kept to seconds.
+ */
+@Primary
+@Component
+public class NearCacheSessionRepository implements FindByIndexNameSessionRepository<Session> {
+
+    private static final Logger log = LoggerFactory.getLogger(NearCacheSessionRepository.class);
+
+    private final FindByIndexNameSessionRepository<Session> delegate;
+    private final JdbcTemplate jdbcTemplate;
+    private final String tableName;
+    private final Cache<String, MapSession> cache;
+    private final ConcurrentHashMap<String, PendingAccess> pendingAccess = new ConcurrentHashMap<>();
+    private final Counter coalescedUpdates;
+    private final DistributionSummary flushBatchSizes;
+    private final Timer cleanupLatency;
+    private final Counter cleanupDeleted;
+
+    @SuppressWarnings("unchecked")
+    public NearCacheSessionRepository(JdbcIndexedSessionRepository jdbcSessionRepository,
+                                      JdbcTemplate jdbcTemplate,
+                                      MeterRegistry meterRegistry,
+                                      @Value("${spring.session.jdbc.table-name:SPRING_SESSION}") String tableName,
+                                      @Value("${app.session.near-cache-ttl-seconds:10}") long nearCacheTtlSeconds,
+                                      @Value("${app.session.near-cache-max-entries:20000}") long nearCacheMaxEntries) {
+        // Only sessions this delegate created or loaded are handed back to it.
+        this.delegate = (FindByIndexNameSessionRepository<Session>) (FindByIndexNameSessionRepository<?>) jdbcSessionRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.tableName = tableName;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(Math.max(1, nearCacheMaxEntries))
+                .expireAfterWrite(Duration.ofSeconds(Math.max(1, nearCacheTtlSeconds)))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "sessionNearCache");
+
+        Gauge.builder("community_session_pending_access_updates", pendingAccess, Map::size)
+                .description("Sessions whose last-access time is waiting to be written")
+                .register(meterRegistry);
+        this.coalescedUpdates = Counter.builder("community_session_access_updates_coalesced")
+                .description("Requests whose last-access write was deferred to a batch")
+                .register(meterRegistry);
+        this.flushBatchSizes = DistributionSummary.builder("community_session_access_flush_batch_size")
+                .description("Last-access updates written per batch")
+                .register(meterRegistry);
+        this.cleanupLatency = Timer.builder("community_session_cleanup_latency")
+                .description("Time spent deleting expired sessions")
+                .register(meterRegistry);
+        this.cleanupDeleted = Counter.builder("community_session_cleanup_deleted")
+                .description("Expired sessions deleted by the cleanup job")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Session createSession() {
+        return delegate.createSession();
+    }
+
+    @Override
+    public void save(Session session) {
+        if (!(session instanceof CachedSession cached)) {
+            delegate.save(session);
+            cache.put(session.getId(), new MapSession(session));
+            return;
+        }
+        if (cached.hasStructuralChanges()) {
+            saveThroughDelegate(cached);
+        } else if (cached.lastAccessChanged) {
+            Instant lastAccessed = cached.getLastAccessedTime();
+            pendingAccess.merge(cached.getId(),
+                    new PendingAccess(lastAccessed, cached.getMaxInactiveInterval()),
+                    (current, next) -> next.lastAccessed().isAfter(current.lastAccessed()) ? next : current);
+            MapSession snapshot = cache.getIfPresent(cached.getId());
+            if (snapshot != null) {
+                snapshot.setLastAccessedTime(lastAccessed);
+            }
+            coalescedUpdates.increment();
+        }
+    }
+
+    private void saveThroughDelegate(CachedSession cached) {
+        Session backing = delegate.findById(cached.originalId);
+        if (backing == null) {
+            // Deleted or expired elsewhere (logout on another instance); nothing to write into.
+            cache.invalidate(cached.originalId);
+            pendingAccess.remove(cached.originalId);
+            return;
+        }
+        for (String name : cached.writes.keySet()) {
+            Object value = cached.getAttribute(name);
+            if (value == null) {
+                backing.removeAttribute(name);
+            } else {
+                backing.setAttribute(name, value);
+            }
+        }
+        if (cached.maxInactiveChanged) {
+            backing.setMaxInactiveInterval(cached.getMaxInactiveInterval());
+        }
+        backing.setLastAccessedTime(cached.getLastAccessedTime());
+        if (cached.idChanged) {
+            backing.changeSessionId();
+            cached.id = backing.getId();
+        }
+        delegate.save(backing);
+
+        pendingAccess.remove(cached.originalId);
+        cache.invalidate(cached.originalId);
+        cache.put(backing.getId(), new MapSession(backing));
+    }
+
+    @Override
+    public Session findById(String id) {
+        MapSession snapshot = cache.getIfPresent(id);
+        if (snapshot == null || snapshot.isExpired()) {
+            Session loaded = delegate.findById(id);
+            if (loaded == null) {
+                cache.invalidate(id);
+                pendingAccess.remove(id);
+                return null;
+            }
+            snapshot = new MapSession(loaded);
+            cache.put(id, snapshot);
+        }
+        return new CachedSession(snapshot);
+    }
+
+    @Override
+    public void deleteById(String id) {
+        cache.invalidate(id);
+        pendingAccess.remove(id);
+        delegate.deleteById(id);
+    }
+
+    @Override
+    public Map<String, Session> findByIndexNameAndIndexValue(String indexName, String indexValue) {
+        return delegate.findByIndexNameAndIndexValue(indexName, indexValue);
+    }
+
+    /**
+     * Writes the coalesced last-access times in one batch. A row is only moved forward,
+     * never back, so a late flush cannot undo a newer write from another instance.
+     */
+    @Scheduled(fixedDelayString = "${app.session.access-flush-interval-ms:10000}")
+    public void flushAccessTimes() {
+        if (pendingAccess.isEmpty()) {
+            return;
+        }
+        List<String> ids = new ArrayList<>(pendingAccess.keySet());
+        List<Object[]> batch = new ArrayList<>(ids.size());
+        List<Map.Entry<String, PendingAccess>> taken = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            PendingAccess access = pendingAccess.remove(id);
+            if (access == null) {
+                continue;
+            }
+            long lastAccessed = access.lastAccessed().toEpochMilli();
+            batch.add(new Object[]{lastAccessed, access.expiryTime(), id, lastAccessed});
+            taken.add(Map.entry(id, access));
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            jdbcTemplate.batchUpdate("UPDATE " + tableName
+                    + " SET LAST_ACCESS_TIME = ?, EXPIRY_TIME = ? WHERE SESSION_ID = ? AND LAST_ACCESS_TIME < ?", batch);
+            flushBatchSizes.record(batch.size());
+        } catch (RuntimeException ex) {
+            log.error("Failed to flush last-access times for {} sessions; re-queueing them", batch.size(), ex);
+            for (Map.Entry<String, PendingAccess> entry : taken) {
+                pendingAccess.merge(entry.getKey(), entry.getValue(),
+                        (current, failed) -> current.lastAccessed().isAfter(failed.lastAccessed()) ? current : failed);
+            }
+        }
+    }
+
+    /**
+     * Replaces the JDBC repository's own cleanup task (disabled via
+     * {@code spring.session.jdbc.cleanup-cron=-}) so it can flush first and report metrics.
+     */
+    @Scheduled(cron = "${app.session.cleanup-cron:0 * * * * *}")
+    public void cleanUpExpiredSessions() {
+        flushAccessTimes();
+        Timer.Sample sample = Timer.start();
+        try {
+            int deleted = jdbcTemplate.update("DELETE FROM " + tableName + " WHERE EXPIRY_TIME < ?",
+                    System.currentTimeMillis());
+            cleanupDeleted.increment(deleted);
+            if (deleted > 0) {
+                log.debug("Cleaned up {} expired sessions", deleted);
+            }
+        } catch (RuntimeException ex) {
+            log.error("Failed to clean up expired sessions", ex);
+        } finally {
+            sample.stop(cleanupLatency);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        flushAccessTimes();
+    }
+
+    private record PendingAccess(Instant lastAccessed, Duration maxInactiveInterval) {
+        long expiryTime() {
+            return maxInactiveInterval.isNegative()
+                    ? Long.MAX_VALUE
+                    : lastAccessed.plus(maxInactiveInterval).toEpochMilli();
+        }
+    }
+
+    /**
+     * Session handed to one request. Reads fall through to the shared cached snapshot, whose
+     * attributes are never written; the request's own changes are kept here (copy-on-write) so that
+     * {@link #save} can tell a plain access from a real modification.
+     */
+    private static final class CachedSession implements Session {
+
+        private final MapSession snapshot;
+        private final String originalId;
+        // Attributes set (or removed, as null) by this request.
+        private final Map<String, Object> writes = new HashMap<>();
+        private String id;
+        private Instant lastAccessedTime;
+        private Duration maxInactiveInterval;
+        private boolean maxInactiveChanged;
+        private boolean idChanged;
+        private boolean lastAccessChanged;
+
+        private CachedSession(MapSession snapshot) {
+            this.snapshot = snapshot;
+            this.originalId = snapshot.getId();
+            this.id = originalId;
+            this.lastAccessedTime = snapshot.getLastAccessedTime();
+            this.maxInactiveInterval = snapshot.getMaxInactiveInterval();
+        }
+
+        private boolean hasStructuralChanges() {
+            return idChanged || maxInactiveChanged || !writes.isEmpty();
+        }
+
+        @Override
+        public String getId() {
+            return id;
+        }
+
+        @Override
+        public String changeSessionId() {
+            idChanged = true;
+            id = UUID.randomUUID().toString();
+            return id;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> T getAttribute(String attributeName) {
+            if (writes.containsKey(attributeName)) {
+                return (T) writes.get(attributeName);
+            }
+            return snapshot.getAttribute(attributeName);
+        }
+
+        @Override
+        public Set<String> getAttributeNames() {
+            if (writes.isEmpty()) {
+                return snapshot.getAttributeNames();
+            }
+            Set<String> names = new HashSet<>(snapshot.getAttributeNames());
+            writes.forEach((name, value) -> {
+                if (value == null) {
+                    names.remove(name);
+                } else {
+                    names.add(name);
+                }
+            });
+            return names;
+        }
+
+        @Override
+        public void setAttribute(String attributeName, Object attributeValue) {
+            writes.put(attributeName, attributeValue);
+        }
+
+        @Override
+        public void removeAttribute(String attributeName) {
+            writes.put(attributeName, null);
+        }
+
+        @Override
+        public Instant getCreationTime() {
+            return snapshot.getCreationTime();
+        }
+
+        @Override
+        public void setLastAccessedTime(Instant lastAccessedTime) {
+            this.lastAccessedTime = lastAccessedTime;
+            lastAccessChanged = true;
+        }
+
+        @Override
+        public Instant getLastAccessedTime() {
+            return lastAccessedTime;
+        }
+
+        @Override
+        public void setMaxInactiveInterval(Duration interval) {
+            this.maxInactiveInterval = interval;
+            maxInactiveChanged = true;
+        }
+
+        @Override
+        public Duration getMaxInactiveInterval() {
+            return maxInactiveInterval;
+        }
+
+        @Override
+        public boolean isExpired() {
+            return !maxInactiveInterval.isNegative()
+                    && Instant.now().minus(maxInactiveInterval).compareTo(lastAccessedTime) >= 0;
+        }
+    }
+}
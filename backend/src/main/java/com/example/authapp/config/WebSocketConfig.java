@@ -1,18 +1,65 @@
 package com.example.authapp.config;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.messaging.simp.config.StompBrokerRelayRegistration;
+import org.springframework.scheduling.TaskScheduler;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
 
+/**
+ * STOMP over WebSocket. {@code app.websocket.broker-mode=simple} keeps the in-memory broker
+ * (single node); {@code relay} forwards {@code /topic} to an external STOMP broker such as
+ * RabbitMQ or ActiveMQ so every backend instance sees the same messages.
+ */
 @Configuration
 @EnableWebSocketMessageBroker
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    private static final Logger log = LoggerFactory.getLogger(WebSocketConfig.class);
+
+    private final WebSocketSendQueueMetrics sendQueueMetrics;
+    private final AppProperties.WebSocket settings;
+    private final TaskScheduler messageBrokerTaskScheduler;
+
+    public WebSocketConfig(WebSocketSendQueueMetrics sendQueueMetrics,
+                           AppProperties appProperties,
+                           @Lazy @Qualifier("messageBrokerTaskScheduler") TaskScheduler messageBrokerTaskScheduler) {
+        this.sendQueueMetrics = sendQueueMetrics;
+        this.settings = appProperties.getWebsocket();
+        this.messageBrokerTaskScheduler = messageBrokerTaskScheduler;
+    }
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
-        config.enableSimpleBroker("/topic");
+        long[] heartbeat = {Math.max(0, settings.getHeartbeatSendMs()), Math.max(0, settings.getHeartbeatReceiveMs())};
+        if ("relay".equalsIgnoreCase(settings.getBrokerMode())) {
+            StompBrokerRelayRegistration relay = config.enableStompBrokerRelay("/topic")
+                    .setRelayHost(settings.getRelayHost())
+                    .setRelayPort(settings.getRelayPort())
+                    .setClientLogin(settings.getRelayLogin())
+                    .setClientPasscode(settings.getRelayPasscode())
+                    .setSystemLogin(settings.getRelayLogin())
+                    .setSystemPasscode(settings.getRelayPasscode())
+                    .setSystemHeartbeatSendInterval(heartbeat[0])
+                    .setSystemHeartbeatReceiveInterval(heartbeat[1]);
+            String virtualHost = settings.getRelayVirtualHost();
+            if (virtualHost != null && !virtualHost.isBlank()) {
+                relay.setVirtualHost(virtualHost);
+            }
+            log.info("Relaying STOMP /topic to {}:{}", settings.getRelayHost(), settings.getRelayPort());
+        } else {
+            config.enableSimpleBroker("/topic")
+                    .setHeartbeatValue(heartbeat)
+                    .setTaskScheduler(messageBrokerTaskScheduler);
+        }
         config.setApplicationDestinationPrefixes("/app");
     }
 
@@ -20,4 +67,17 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
     public void registerStompEndpoints(StompEndpointRegistry registry) {
         registry.addEndpoint("/ws").withSockJS();
     }
+
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        // Slow admin browsers are dropped instead of buffering frames without bound.
+        registration.setSendTimeLimit(Math.max(1000, settings.getSendTimeLimitMs()))
+                .setSendBufferSizeLimit(Math.max(16, settings.getSendBufferSizeKb()) * 1024)
+                .setMessageSizeLimit(Math.max(16, settings.getMessageSizeLimitKb()) * 1024);
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        registration.interceptors(sendQueueMetrics);
+    }
 }
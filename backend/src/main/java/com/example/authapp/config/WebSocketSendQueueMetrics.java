@@ -0,0 +1,65 @@
+package com.example.authapp.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.support.ExecutorChannelInterceptor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tracks how many outbound STOMP frames are queued per WebSocket session on the
+ * client outbound channel. Sessions are not used as tags; the meters report the
+ * deepest queue and the depth seen on every enqueue.
+ */
+@Component
+public class WebSocketSendQueueMetrics implements ExecutorChannelInterceptor {
+
+    private final ConcurrentHashMap<String, AtomicInteger> queued = new ConcurrentHashMap<>();
+    private final DistributionSummary depthOnEnqueue;
+
+    public WebSocketSendQueueMetrics(MeterRegistry meterRegistry) {
+        this.depthOnEnqueue = DistributionSummary.builder("community_ws_session_send_queue_depth")
+                .description("Frames already queued for a session when another one is added")
+                .register(meterRegistry);
+        Gauge.builder("community_ws_session_send_queue_max", queued, WebSocketSendQueueMetrics::deepest)
+                .description("Deepest outbound frame queue across WebSocket sessions")
+                .register(meterRegistry);
+        Gauge.builder("community_ws_sessions_with_pending_sends", queued, ConcurrentHashMap::size)
+                .description("WebSocket sessions with outbound frames waiting to be written")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+        if (sessionId != null) {
+            int depth = queued.computeIfAbsent(sessionId, id -> new AtomicInteger()).getAndIncrement();
+            depthOnEnqueue.record(depth);
+        }
+        return message;
+    }
+
+    @Override
+    public void afterMessageHandled(Message<?> message, MessageChannel channel, MessageHandler handler, Exception ex) {
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+        if (sessionId == null) {
+            return;
+        }
+        queued.computeIfPresent(sessionId, (id, count) -> count.decrementAndGet() <= 0 ? null : count);
+    }
+
+    private static double deepest(ConcurrentHashMap<String, AtomicInteger> queued) {
+        int max = 0;
+        for (AtomicInteger count : queued.values()) {
+            max = Math.max(max, count.get());
+        }
+        return max;
+    }
+}
@@ -0,0 +1,170 @@
+package com.example.authapp.home;
+
+import com.example.authapp.post.PostChangedEvent;
+import com.example.authapp.post.PostService;
+import com.example.authapp.post.dto.PostSummaryResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.DigestUtils;
+
+import javax.annotation.PreDestroy;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the home page payload in memory. The snapshot is rebuilt in the background
+ * after a post changes and on a fixed timer as a safety net; requests only read it.
+ */
+@Service
+public class HomeSnapshotService {
+
+    private static final Logger log = LoggerFactory.getLogger(HomeSnapshotService.class);
+
+    private static final List<String> MAIN_BOARD_ORDER = List.of(
+            "game",
+            "exercise",
+            "movie",
+            "music",
+            "travel",
+            "invest"
+    );
+
+    private static final Map<String, String> DISPLAY_NAMES;
+
+    static {
+        DISPLAY_NAMES = new LinkedHashMap<>();
+        DISPLAY_NAMES.put("game", "게임");
+        DISPLAY_NAMES.put("exercise", "운동");
+        DISPLAY_NAMES.put("movie", "영화");
+        DISPLAY_NAMES.put("music", "음악");
+        DISPLAY_NAMES.put("travel", "여행");
+        DISPLAY_NAMES.put("invest", "투자");
+    }
+
+    private final PostService postService;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Timer buildTimer;
+    // One running rebuild plus at most one queued; further requests are covered by the queued one.
+    private final ThreadPoolExecutor rebuilder = new ThreadPoolExecutor(
+            1,
+            1,
+            0L,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(1),
+            runnable -> {
+                Thread thread = new Thread(runnable, "home-snapshot");
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.DiscardPolicy()
+    );
+
+    private volatile Snapshot snapshot;
+
+    public HomeSnapshotService(PostService postService,
+                               ObjectMapper objectMapper,
+                               PlatformTransactionManager transactionManager,
+                               MeterRegistry meterRegistry) {
+        this.postService = postService;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.buildTimer = Timer.builder("community_home_snapshot_build_latency")
+                .description("Time spent rebuilding the home page snapshot")
+                .register(meterRegistry);
+    }
+
+    public Snapshot current() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            synchronized (this) {
+                current = snapshot;
+                if (current == null) {
+                    current = rebuild();
+                }
+            }
+        }
+        return current;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPostChanged(PostChangedEvent event) {
+        requestRebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${app.home.snapshot-refresh-ms:30000}")
+    public void refresh() {
+        requestRebuild();
+    }
+
+    private void requestRebuild() {
+        rebuilder.execute(() -> {
+            try {
+                rebuild();
+            } catch (RuntimeException ex) {
+                log.error("Failed to rebuild home page snapshot; keeping the previous one.", ex);
+            }
+        });
+    }
+
+    private Snapshot rebuild() {
+        Snapshot built = buildTimer.record(() -> readOnlyTransaction.execute(status -> build()));
+        snapshot = built;
+        return built;
+    }
+
+    private Snapshot build() {
+        List<HomeResponse.BoardSection> boards = MAIN_BOARD_ORDER.stream()
+                .map(name -> new HomeResponse.BoardSection(
+                        name,
+                        DISPLAY_NAMES.getOrDefault(name, name),
+                        postService.getUniqueSubBoardNamesForMainBoard(name)
+                ))
+                .toList();
+
+        List<PostSummaryResponse> recentPosts = postService.getRecentList()
+                .stream()
+                .map(PostSummaryResponse::from)
+                .toList();
+
+        List<PostSummaryResponse> popularPosts = postService.getPopularGalleryPosts(10)
+                .stream()
+                .map(PostSummaryResponse::from)
+                .toList();
+
+        HomeResponse response = new HomeResponse(boards, recentPosts, popularPosts);
+        return new Snapshot(response, etagFor(response));
+    }
+
+    private String etagFor(HomeResponse response) {
+        try {
+            return "\"" + DigestUtils.md5DigestAsHex(objectMapper.writeValueAsBytes(response)) + "\"";
+        } catch (JsonProcessingException e) {
+            log.warn("Failed to serialize home snapshot for ETag: {}", e.getMessage());
+            return "\"" + System.nanoTime() + "\"";
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        rebuilder.shutdownNow();
+    }
+
+    public record Snapshot(HomeResponse response, String etag) {
+    }
+}
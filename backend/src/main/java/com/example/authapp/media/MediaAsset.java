@@ -0,0 +1,74 @@
+package com.example.authapp.media;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * One uploaded S3 object, keyed by its object key. Moderation callbacks only carry the
+ * key, so this is how they find the owning post without matching URL strings.
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "media_asset",
+        uniqueConstraints = @UniqueConstraint(name = "uk_media_asset_object_key", columnNames = "object_key"),
+        indexes = @Index(name = "idx_media_asset_post", columnList = "post_id"))
+public class MediaAsset {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "object_key", nullable = false, length = 512)
+    private String objectKey;
+
+    @Column(name = "url", length = 1024)
+    private String url;
+
+    // User that requested the presigned upload; only they may complete, abort or delete it.
+    @Column(name = "uploaded_by", length = 100)
+    private String uploadedBy;
+
+    // Null until the upload is attached to a post.
+    @Column(name = "post_id")
+    private Long postId;
+
+    // Set once a second post attaches the same key; owner lookups then scan post URLs instead.
+    @Column(name = "shared", nullable = false, columnDefinition = "bit(1) default 0")
+    private boolean shared;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "media_type", nullable = false, length = 10)
+    private MediaType mediaType = MediaType.OTHER;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "moderation_state", nullable = false, length = 20)
+    private MediaModerationState moderationState = MediaModerationState.PENDING;
+
+    // ETag of the bytes checked at upload completion; a different ETag means the object was replaced.
+    @Column(name = "verified_etag", length = 64)
+    private String verifiedEtag;
+
+    // Rekognition labels from the scan run when the upload completed, reused by the post pipeline.
+    @Lob
+    @Column(name = "moderation_result")
+    private String moderationResult;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    public void prePersist() {
+        this.createdAt = LocalDateTime.now();
+        this.updatedAt = this.createdAt;
+    }
+
+    @PreUpdate
+    public void preUpdate() {
+        this.updatedAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.authapp.media;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface MediaAssetRepository extends JpaRepository<MediaAsset, Long> {
+
+    Optional<MediaAsset> findByObjectKey(String objectKey);
+
+    List<MediaAsset> findByPostId(Long postId);
+}
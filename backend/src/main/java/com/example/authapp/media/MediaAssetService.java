@@ -0,0 +1,247 @@
+package com.example.authapp.media;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Maintains {@link MediaAsset} rows: registered when a file is uploaded, bound to a post
+ * when the post is saved with that URL, and updated as moderation verdicts arrive.
+ */
+@Service
+public class MediaAssetService {
+
+    private static final Logger log = LoggerFactory.getLogger(MediaAssetService.class);
+    private static final Set<String> VIDEO_EXTENSIONS = Set.of("mp4", "mov", "avi", "mkv", "webm");
+    private static final Set<String> IMAGE_EXTENSIONS = Set.of("jpg", "jpeg", "png", "gif", "webp", "bmp");
+
+    private final MediaAssetRepository mediaAssetRepository;
+
+    public MediaAssetService(MediaAssetRepository mediaAssetRepository) {
+        this.mediaAssetRepository = mediaAssetRepository;
+    }
+
+    @Transactional
+    public void registerUpload(String objectKey, String url, String contentType) {
+        registerUpload(objectKey, url, contentType, null);
+    }
+
+    /**
+     * Registers a verified upload. When the ETag differs from the one last verified, the
+     * bytes were replaced and any earlier scan result is discarded.
+     */
+    @Transactional
+    public void registerUpload(String objectKey, String url, String contentType, String etag) {
+        if (objectKey == null || objectKey.isBlank()) {
+            return;
+        }
+        MediaAsset asset = mediaAssetRepository.findByObjectKey(objectKey).orElseGet(MediaAsset::new);
+        asset.setObjectKey(objectKey);
+        asset.setUrl(url);
+        asset.setMediaType(resolveType(contentType, objectKey));
+        if (etag != null && !etag.equals(asset.getVerifiedEtag())) {
+            asset.setVerifiedEtag(etag);
+            asset.setModerationResult(null);
+            asset.setModerationState(MediaModerationState.PENDING);
+        }
+        mediaAssetRepository.save(asset);
+    }
+
+    /**
+     * Records the key handed out for a direct upload before the client sends any bytes,
+     * so later complete/abort/delete calls can be checked against the requesting user.
+     */
+    @Transactional
+    public void reserveUpload(String objectKey, String url, String contentType, String uploadedBy) {
+        MediaAsset asset = new MediaAsset();
+        asset.setObjectKey(objectKey);
+        asset.setUrl(url);
+        asset.setMediaType(resolveType(contentType, objectKey));
+        asset.setUploadedBy(uploadedBy);
+        mediaAssetRepository.save(asset);
+    }
+
+    /**
+     * Whether {@code username} reserved {@code objectKey}. Keys that were never reserved fail.
+     */
+    @Transactional(readOnly = true)
+    public boolean isUploadedBy(String objectKey, String username) {
+        return username != null && findByObjectKey(objectKey)
+                .map(asset -> username.equals(asset.getUploadedBy()))
+                .orElse(false);
+    }
+
+    /**
+     * Whether {@code username} may delete {@code objectKey}: assets reserved by someone
+     * else are refused; server-side uploads carry no uploader and stay deletable.
+     */
+    @Transactional(readOnly = true)
+    public boolean mayDelete(String objectKey, String username) {
+        return findByObjectKey(objectKey)
+                .map(MediaAsset::getUploadedBy)
+                .map(uploadedBy -> uploadedBy.equals(username))
+                .orElse(true);
+    }
+
+    /**
+     * Binds the post's current attachments to it and releases assets it no longer uses.
+     */
+    @Transactional
+    public void attachToPost(Long postId, Collection<String> fileUrls) {
+        if (postId == null) {
+            return;
+        }
+        Set<String> attachedKeys = new HashSet<>();
+        if (fileUrls != null) {
+            for (String url : fileUrls) {
+                String objectKey = objectKeyFromUrl(url);
+                if (objectKey == null) {
+                    continue;
+                }
+                attachedKeys.add(objectKey);
+                MediaAsset asset = mediaAssetRepository.findByObjectKey(objectKey).orElseGet(MediaAsset::new);
+                if (asset.getId() == null) {
+                    asset.setObjectKey(objectKey);
+                    asset.setMediaType(resolveType(null, objectKey));
+                }
+                if (asset.getPostId() != null && !asset.getPostId().equals(postId)) {
+                    asset.setShared(true);
+                }
+                asset.setUrl(url);
+                asset.setPostId(postId);
+                mediaAssetRepository.save(asset);
+            }
+        }
+        for (MediaAsset asset : mediaAssetRepository.findByPostId(postId)) {
+            if (!attachedKeys.contains(asset.getObjectKey())) {
+                asset.setPostId(null);
+                mediaAssetRepository.save(asset);
+            }
+        }
+    }
+
+    /**
+     * The asset behind {@code objectKey} if exactly one post owns it. Shared assets only
+     * remember the last post that attached them, so callers scan post URLs instead.
+     */
+    @Transactional(readOnly = true)
+    public Optional<MediaAsset> findSoleOwner(String objectKey) {
+        return findByObjectKey(objectKey)
+                .filter(asset -> asset.getPostId() != null && !asset.isShared());
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<MediaAsset> findByObjectKey(String objectKey) {
+        if (objectKey == null || objectKey.isBlank()) {
+            return Optional.empty();
+        }
+        return mediaAssetRepository.findByObjectKey(objectKey);
+    }
+
+    @Transactional
+    public void markModeration(String objectKeyOrUrl, MediaModerationState state) {
+        String objectKey = objectKeyOrUrl != null && objectKeyOrUrl.contains("://")
+                ? objectKeyFromUrl(objectKeyOrUrl)
+                : objectKeyOrUrl;
+        findByObjectKey(objectKey).ifPresent(asset -> {
+            asset.setModerationState(state);
+            mediaAssetRepository.save(asset);
+        });
+    }
+
+    /**
+     * Stores the verdict of a scan that ran before the asset was attached to a post.
+     */
+    @Transactional
+    public void recordScan(String objectKey, MediaModerationState state, String moderationResult) {
+        findByObjectKey(objectKey).ifPresent(asset -> {
+            asset.setModerationState(state);
+            asset.setModerationResult(moderationResult);
+            mediaAssetRepository.save(asset);
+        });
+    }
+
+    /**
+     * Media type of the registered asset behind {@code url}, for keys without a telling suffix.
+     */
+    @Transactional(readOnly = true)
+    public Optional<MediaType> mediaTypeOf(String url) {
+        return findByObjectKey(objectKeyFromUrl(url)).map(MediaAsset::getMediaType);
+    }
+
+    /**
+     * Drops the assets of a deleted post. Shared assets are kept, unbound, because other
+     * posts still reference them.
+     */
+    @Transactional
+    public void detachPost(Long postId) {
+        if (postId == null) {
+            return;
+        }
+        for (MediaAsset asset : mediaAssetRepository.findByPostId(postId)) {
+            if (asset.isShared()) {
+                asset.setPostId(null);
+                mediaAssetRepository.save(asset);
+            } else {
+                mediaAssetRepository.delete(asset);
+            }
+        }
+    }
+
+    /**
+     * Extracts the S3 object key from a CloudFront, virtual-hosted or path-style S3 URL.
+     */
+    public static String objectKeyFromUrl(String url) {
+        if (url == null || url.isBlank()) {
+            return null;
+        }
+        try {
+            URI uri = new URI(url.trim());
+            String path = uri.getPath();
+            if (path == null || path.length() <= 1) {
+                return null;
+            }
+            String key = path.substring(1);
+            String host = uri.getHost() != null ? uri.getHost().toLowerCase(Locale.ROOT) : "";
+            // Path-style S3 URLs (s3.<region>.amazonaws.com/<bucket>/<key>) carry the bucket first.
+            if (host.startsWith("s3.") || host.startsWith("s3-") || host.equals("s3.amazonaws.com")) {
+                int slash = key.indexOf('/');
+                key = slash >= 0 ? key.substring(slash + 1) : null;
+            }
+            return key == null || key.isBlank() ? null : key;
+        } catch (URISyntaxException e) {
+            log.debug("Cannot derive object key from url={}: {}", url, e.getMessage());
+            return null;
+        }
+    }
+
+    private MediaType resolveType(String contentType, String objectKey) {
+        if (contentType != null) {
+            if (contentType.startsWith("image/")) {
+                return MediaType.IMAGE;
+            }
+            if (contentType.startsWith("video/")) {
+                return MediaType.VIDEO;
+            }
+        }
+        String lower = objectKey.toLowerCase(Locale.ROOT);
+        int dot = lower.lastIndexOf('.');
+        String extension = dot >= 0 ? lower.substring(dot + 1) : "";
+        if (VIDEO_EXTENSIONS.contains(extension) || lower.contains("videos/")) {
+            return MediaType.VIDEO;
+        }
+        if (IMAGE_EXTENSIONS.contains(extension)) {
+            return MediaType.IMAGE;
+        }
+        return MediaType.OTHER;
+    }
+}
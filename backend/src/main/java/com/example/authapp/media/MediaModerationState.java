@@ -0,0 +1,8 @@
+package com.example.authapp.media;
+
+public enum MediaModerationState {
+    PENDING,
+    CLEAN,
+    FLAGGED,
+    FAILED
+}
@@ -0,0 +1,7 @@
+package com.example.authapp.media;
+
+public enum MediaType {
+    IMAGE,
+    VIDEO,
+    OTHER
+}
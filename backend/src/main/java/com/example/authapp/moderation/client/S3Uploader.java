@@ -3,6 +3,7 @@ package com.example.authapp.moderation.client;
 import com.amazonaws.services.s3.AmazonS3;
 import com.amazonaws.services.s3.model.ObjectMetadata;
 import com.example.authapp.config.AppProperties;
+import com.example.authapp.s3.S3StreamingUploader;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
@@ -20,10 +21,12 @@ public class S3Uploader {
 
     private final AmazonS3 amazonS3;
     private final AppProperties appProperties;
+    private final S3StreamingUploader streamingUploader;
 
-    public S3Uploader(AmazonS3 amazonS3, AppProperties appProperties) {
+    public S3Uploader(AmazonS3 amazonS3, AppProperties appProperties, S3StreamingUploader streamingUploader) {
         this.amazonS3 = amazonS3;
         this.appProperties = appProperties;
+        this.streamingUploader = streamingUploader;
     }
 
     public UploadedObject upload(MultipartFile file, String directory) throws IOException {
@@ -36,16 +39,16 @@ public class S3Uploader {
         String key = String.format(Locale.ROOT, "%s/%s_%s", normalizedDir, UUID.randomUUID(), sanitizedName);
 
         ObjectMetadata metadata = new ObjectMetadata();
-        metadata.setContentLength(file.getSize());
         metadata.setContentType(file.getContentType());
 
+        long size;
         try (InputStream inputStream = file.getInputStream()) {
-            amazonS3.putObject(bucket, key, inputStream, metadata);
+            size = streamingUploader.upload(bucket, key, inputStream, metadata);
         }
 
         String url = buildPublicUrl(bucket, key);
         log.info("Uploaded media file to S3 bucket={} key={} url={}", bucket, key, url);
-        return new UploadedObject(bucket, key, url, file.getContentType(), file.getSize());
+        return new UploadedObject(bucket, key, url, file.getContentType(), size);
     }
 
     private String sanitize(String name) {
@@ -0,0 +1,310 @@
+package com.example.authapp.moderation.service;
+
+import com.amazonaws.services.comprehend.AmazonComprehend;
+import com.amazonaws.services.comprehend.model.AmazonComprehendException;
+import com.amazonaws.services.comprehend.model.BatchDetectSentimentItemResult;
+import com.amazonaws.services.comprehend.model.BatchDetectSentimentRequest;
+import com.amazonaws.services.comprehend.model.BatchDetectSentimentResult;
+import com.amazonaws.services.comprehend.model.DetectPiiEntitiesRequest;
+import com.amazonaws.services.comprehend.model.DetectPiiEntitiesResult;
+import com.amazonaws.services.comprehend.model.DetectSentimentRequest;
+import com.amazonaws.services.comprehend.model.DetectSentimentResult;
+import com.amazonaws.services.comprehend.model.SentimentScore;
+import com.amazonaws.services.translate.AmazonTranslate;
+import com.amazonaws.services.translate.model.TranslateTextRequest;
+import com.amazonaws.services.translate.model.TranslateTextResult;
+import com.example.authapp.config.AppProperties;
+import com.example.authapp.post.TextModerationOutcome;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Single Comprehend -> Translate -> DetectPiiEntities chain shared by posts, comments
+ * and the moderation API. Outcomes are cached by a hash of language and text, so
+ * unchanged titles, copy-pasted comments and no-op edits never reach AWS twice.
+ * Failed calls return {@link TextModerationOutcome#failed()} and are not cached.
+ */
+@Component
+public class TextModerationEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(TextModerationEngine.class);
+    private static final int MAX_TEXT_LENGTH = 4500;
+    private static final int MAX_BATCH_SIZE = 25;
+    private static final Set<String> COMPREHEND_PII_SUPPORTED_LANGUAGES = Set.of("en", "es");
+
+    private final AmazonComprehend amazonComprehend;
+    private final AmazonTranslate amazonTranslate;
+    private final Cache<String, TextModerationOutcome> cache;
+    private final Timer sentimentTimer;
+    private final Timer batchSentimentTimer;
+    private final Timer translateTimer;
+    private final Timer piiTimer;
+
+    @Value("${app.moderation.text-language-code:ko}")
+    private String defaultLanguageCode;
+
+    public TextModerationEngine(AmazonComprehend amazonComprehend,
+                                AmazonTranslate amazonTranslate,
+                                AppProperties appProperties,
+                                MeterRegistry meterRegistry) {
+        this.amazonComprehend = amazonComprehend;
+        this.amazonTranslate = amazonTranslate;
+
+        AppProperties.Moderation moderation = appProperties.getModeration();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(moderation.getTextCacheMaxEntries())
+                .expireAfterWrite(Duration.ofMinutes(moderation.getTextCacheTtlMinutes()))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "textModeration");
+
+        this.sentimentTimer = callTimer(meterRegistry, "detect_sentiment");
+        this.batchSentimentTimer = callTimer(meterRegistry, "batch_detect_sentiment");
+        this.translateTimer = callTimer(meterRegistry, "translate_text");
+        this.piiTimer = callTimer(meterRegistry, "detect_pii_entities");
+    }
+
+    public TextModerationOutcome moderate(String text) {
+        return moderate(text, defaultLanguageCode);
+    }
+
+    public TextModerationOutcome moderate(String text, String languageCode) {
+        if (text == null || text.isBlank()) {
+            return new TextModerationOutcome(false, false, false, 0.0, "", null, null);
+        }
+
+        String trimmedText = text.length() > MAX_TEXT_LENGTH ? text.substring(0, MAX_TEXT_LENGTH) : text;
+        String language = normalizeLanguage(languageCode);
+        String cacheKey = cacheKey(language, trimmedText);
+
+        TextModerationOutcome cached = cache.getIfPresent(cacheKey);
+        if (cached != null) {
+            return cached;
+        }
+
+        try {
+            TextModerationOutcome outcome = analyze(trimmedText, language);
+            cacheIfComplete(cacheKey, language, outcome);
+            return outcome;
+        } catch (AmazonComprehendException e) {
+            log.error("Failed to run text moderation; returning a failed outcome.", e);
+            return TextModerationOutcome.failed();
+        }
+    }
+
+    /**
+     * Moderates several texts at once. Cache misses share one BatchDetectSentiment call
+     * (Comprehend accepts at most {@value #MAX_BATCH_SIZE} documents). Translate and
+     * DetectPiiEntities have no synchronous batch API, so those still run per text.
+     * The returned list has one outcome per input, in input order.
+     */
+    public List<TextModerationOutcome> moderateBatch(List<String> texts, String languageCode) {
+        String language = normalizeLanguage(languageCode);
+        TextModerationOutcome[] outcomes = new TextModerationOutcome[texts.size()];
+        Map<String, List<Integer>> missesByKey = new LinkedHashMap<>();
+        Map<String, String> textByKey = new HashMap<>();
+
+        for (int i = 0; i < texts.size(); i++) {
+            String text = texts.get(i);
+            if (text == null || text.isBlank()) {
+                outcomes[i] = new TextModerationOutcome(false, false, false, 0.0, "", null, null);
+                continue;
+            }
+            String trimmedText = text.length() > MAX_TEXT_LENGTH ? text.substring(0, MAX_TEXT_LENGTH) : text;
+            String cacheKey = cacheKey(language, trimmedText);
+            TextModerationOutcome cached = cache.getIfPresent(cacheKey);
+            if (cached != null) {
+                outcomes[i] = cached;
+                continue;
+            }
+            missesByKey.computeIfAbsent(cacheKey, key -> new ArrayList<>()).add(i);
+            textByKey.putIfAbsent(cacheKey, trimmedText);
+        }
+
+        List<String> keys = new ArrayList<>(missesByKey.keySet());
+        for (int from = 0; from < keys.size(); from += MAX_BATCH_SIZE) {
+            List<String> chunk = keys.subList(from, Math.min(keys.size(), from + MAX_BATCH_SIZE));
+            Map<String, DetectSentimentResult> sentiments = detectSentimentBatch(chunk, textByKey, language);
+            for (String key : chunk) {
+                DetectSentimentResult sentiment = sentiments.get(key);
+                TextModerationOutcome outcome = sentiment != null
+                        ? completeWithSentiment(key, textByKey.get(key), language, sentiment)
+                        : moderate(textByKey.get(key), language);
+                for (int index : missesByKey.get(key)) {
+                    outcomes[index] = outcome;
+                }
+            }
+        }
+        return Arrays.asList(outcomes);
+    }
+
+    private Map<String, DetectSentimentResult> detectSentimentBatch(List<String> keys, Map<String, String> textByKey, String language) {
+        Map<String, DetectSentimentResult> results = new HashMap<>();
+        List<String> documents = keys.stream().map(textByKey::get).collect(Collectors.toList());
+        try {
+            BatchDetectSentimentRequest request = new BatchDetectSentimentRequest()
+                    .withTextList(documents)
+                    .withLanguageCode(language);
+            BatchDetectSentimentResult batchResult = timed(batchSentimentTimer, () -> amazonComprehend.batchDetectSentiment(request));
+            for (BatchDetectSentimentItemResult item : batchResult.getResultList()) {
+                results.put(keys.get(item.getIndex()), new DetectSentimentResult()
+                        .withSentiment(item.getSentiment())
+                        .withSentimentScore(item.getSentimentScore()));
+            }
+            if (batchResult.getErrorList() != null && !batchResult.getErrorList().isEmpty()) {
+                log.warn("BatchDetectSentiment returned {} item errors; retrying those individually.", batchResult.getErrorList().size());
+            }
+        } catch (AmazonComprehendException e) {
+            log.error("BatchDetectSentiment failed for {} documents; falling back to single calls.", documents.size(), e);
+        }
+        return results;
+    }
+
+    private TextModerationOutcome completeWithSentiment(String cacheKey, String trimmedText, String language, DetectSentimentResult sentimentResult) {
+        try {
+            TextModerationOutcome outcome = analyze(trimmedText, language, sentimentResult);
+            cacheIfComplete(cacheKey, language, outcome);
+            return outcome;
+        } catch (AmazonComprehendException e) {
+            log.error("Failed to run text moderation; returning a failed outcome.", e);
+            return TextModerationOutcome.failed();
+        }
+    }
+
+    private TextModerationOutcome analyze(String trimmedText, String languageCode) {
+        DetectSentimentRequest sentimentRequest = new DetectSentimentRequest()
+                .withText(trimmedText)
+                .withLanguageCode(languageCode);
+        DetectSentimentResult sentimentResult = timed(sentimentTimer, () -> amazonComprehend.detectSentiment(sentimentRequest));
+        return analyze(trimmedText, languageCode, sentimentResult);
+    }
+
+    private TextModerationOutcome analyze(String trimmedText, String languageCode, DetectSentimentResult sentimentResult) {
+        SentimentScore sentimentScore = sentimentResult.getSentimentScore();
+
+        double negativeScore = sentimentScore != null && sentimentScore.getNegative() != null
+                ? sentimentScore.getNegative()
+                : 0.0d;
+
+        boolean piiDetected = false;
+        int piiCount = 0;
+        boolean piiScanAttempted = false;
+        DetectPiiEntitiesResult piiResult = null;
+
+        String textToModerate = trimmedText;
+        String languageForPii = languageCode;
+
+        if ("ko".equals(languageCode)) {
+            try {
+                TranslateTextRequest request = new TranslateTextRequest()
+                        .withText(trimmedText)
+                        .withSourceLanguageCode("ko")
+                        .withTargetLanguageCode("en");
+                TranslateTextResult result = timed(translateTimer, () -> amazonTranslate.translateText(request));
+                textToModerate = result.getTranslatedText();
+                languageForPii = "en";
+            } catch (Exception e) {
+                log.error("Failed to translate text from Korean to English for moderation.", e);
+            }
+        }
+
+        if (supportsPiiDetection(languageForPii)) {
+            piiScanAttempted = true;
+            DetectPiiEntitiesRequest piiRequest = new DetectPiiEntitiesRequest()
+                    .withText(textToModerate)
+                    .withLanguageCode(languageForPii);
+            piiResult = timed(piiTimer, () -> amazonComprehend.detectPiiEntities(piiRequest));
+            piiDetected = piiResult.getEntities() != null && !piiResult.getEntities().isEmpty();
+            piiCount = piiDetected ? piiResult.getEntities().size() : 0;
+        } else {
+            log.debug("Skipping PII detection for languageCode='{}'. Supported languages={}.", languageCode, COMPREHEND_PII_SUPPORTED_LANGUAGES);
+        }
+
+        boolean isBlocked = piiDetected;
+        boolean isReview = negativeScore >= 0.01d;
+        boolean notifyAdmin = isBlocked || isReview;
+        String summary = buildTextSummary(negativeScore, sentimentResult.getSentiment(), piiCount, piiScanAttempted);
+
+        return new TextModerationOutcome(notifyAdmin, piiDetected, piiScanAttempted, negativeScore, summary, sentimentResult, piiResult);
+    }
+
+    private String buildTextSummary(double negativeScore, String dominantSentiment, int piiCount, boolean piiScanAttempted) {
+        String summary = String.format("sentiment=%s, negative=%.3f, piiCount=%d", dominantSentiment, negativeScore, piiCount);
+        if (!piiScanAttempted) {
+            summary += " (pii-scan-skipped)";
+        }
+        return summary;
+    }
+
+    /**
+     * Outcomes whose PII scan was skipped because Translate failed are not cached, so the
+     * next occurrence of the text gets a full scan instead of reusing a partial verdict.
+     */
+    private void cacheIfComplete(String cacheKey, String language, TextModerationOutcome outcome) {
+        boolean piiScanExpected = "ko".equals(language) || supportsPiiDetection(language);
+        if (outcome.isFailed() || (piiScanExpected && !outcome.isPiiScanAttempted())) {
+            return;
+        }
+        cache.put(cacheKey, outcome);
+    }
+
+    private boolean supportsPiiDetection(String languageCode) {
+        if (languageCode == null || languageCode.isBlank()) {
+            return false;
+        }
+        return COMPREHEND_PII_SUPPORTED_LANGUAGES.contains(languageCode.toLowerCase(Locale.ROOT));
+    }
+
+    private String normalizeLanguage(String languageCode) {
+        if (languageCode == null || languageCode.isBlank()) {
+            return "ko";
+        }
+        return languageCode.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private String cacheKey(String languageCode, String text) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(languageCode.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(text.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static <T> T timed(Timer timer, Supplier<T> call) {
+        return timer.record(call);
+    }
+
+    private static Timer callTimer(MeterRegistry registry, String call) {
+        return Timer.builder("community_text_moderation_call_latency")
+                .description("Latency of AWS calls made by the text moderation engine")
+                .tag("call", call)
+                .register(registry);
+    }
+}
@@ -10,6 +10,7 @@ import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
 import javax.persistence.PrePersist;
@@ -17,7 +18,9 @@ import javax.persistence.Table;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "user_notification")
+@Table(name = "user_notification", indexes = {
+        @Index(name = "idx_user_notification_user_read", columnList = "user_id, is_read")
+})
 public class UserNotification {
 
     @Id
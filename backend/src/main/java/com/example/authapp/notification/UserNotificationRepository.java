@@ -4,6 +4,9 @@ import com.example.authapp.user.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
@@ -13,5 +16,12 @@ public interface UserNotificationRepository extends JpaRepository<UserNotificati
     Page<UserNotification> findByUser(User user, Pageable pageable);
     long countByUserAndReadFalse(User user);
     Optional<UserNotification> findByIdAndUser(Long id, User user);
-    List<UserNotification> findByUserOrderByCreatedAtDesc(User user);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE UserNotification n SET n.read = true WHERE n.user = :user AND n.read = false")
+    int markAllReadByUser(@Param("user") User user);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE UserNotification n SET n.read = true WHERE n.id = :id AND n.user = :user AND n.read = false")
+    int markReadByIdAndUser(@Param("id") Long id, @Param("user") User user);
 }
@@ -2,6 +2,8 @@ package com.example.authapp.notification;
 
 import com.example.authapp.user.User;
 import com.example.authapp.user.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
@@ -9,7 +11,10 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -22,6 +27,11 @@ public class UserNotificationService {
 
     private final UserNotificationRepository userNotificationRepository;
     private final UserRepository userRepository;
+    // Unread count per user id. Changes on this node evict the entry; the TTL bounds drift from other nodes.
+    private final Cache<Long, Long> unreadCounts = Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .expireAfterWrite(Duration.ofSeconds(60))
+            .build();
 
     public UserNotificationService(UserNotificationRepository userNotificationRepository,
                                    UserRepository userRepository) {
@@ -73,27 +83,19 @@ public class UserNotificationService {
 
     @Transactional(readOnly = true)
     public long countUnread(User user) {
-        return userNotificationRepository.countByUserAndReadFalse(user);
+        return unreadCounts.get(user.getId(), id -> userNotificationRepository.countByUserAndReadFalse(user));
     }
 
     public void markAsRead(User user, Long notificationId) {
-        userNotificationRepository.findByIdAndUser(notificationId, user)
-                .ifPresent(notification -> {
-                    notification.markRead();
-                    userNotificationRepository.save(notification);
-                });
+        if (userNotificationRepository.markReadByIdAndUser(notificationId, user) > 0) {
+            afterCommit(() -> unreadCounts.invalidate(user.getId()));
+        }
     }
 
     public void markAllAsRead(User user) {
-        List<UserNotification> unread = userNotificationRepository.findByUserOrderByCreatedAtDesc(user)
-                .stream()
-                .filter(notification -> !notification.isRead())
-                .collect(Collectors.toList());
-        if (unread.isEmpty()) {
-            return;
-        }
-        unread.forEach(UserNotification::markRead);
-        userNotificationRepository.saveAll(unread);
+        userNotificationRepository.markAllReadByUser(user);
+        // A notification committed concurrently would be hidden by a cached zero, so reload instead.
+        afterCommit(() -> unreadCounts.invalidate(user.getId()));
     }
 
     public void safeNotifyDisciplinaryAction(Long userId, String message, String link, boolean suspended) {
@@ -151,13 +153,28 @@ public class UserNotificationService {
             notification.setRead(false);
              notification.setBlocked(blocked);
              notification.setBlockedReason(blocked ? sanitizeBlockedReason(blockedReason) : null);
-            return toDto(userNotificationRepository.save(notification));
+            UserNotificationDto dto = toDto(userNotificationRepository.save(notification));
+            afterCommit(() -> unreadCounts.invalidate(user.getId()));
+            return dto;
         } catch (Exception ex) {
             log.error("Failed to create notification type={} for userId={}", type, user.getId(), ex);
             return null;
         }
     }
 
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
     private UserNotificationDto toDto(UserNotification notification) {
         return new UserNotificationDto(
                 notification.getId(),
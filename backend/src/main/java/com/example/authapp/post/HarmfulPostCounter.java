@@ -0,0 +1,115 @@
+package com.example.authapp.post;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Number of harmful posts reported today, kept in memory. The count is seeded from
+ * {@link PostRepository#countHarmfulSince} at startup and on the first read after midnight;
+ * in between, committed post changes move it up or down via {@link HarmfulPostListener}.
+ * Changes made on other instances never reach this listener, so the count is also
+ * reseeded from the database on a fixed delay, which bounds the drift in a cluster.
+ */
+@Component
+public class HarmfulPostCounter {
+
+    private static final Logger log = LoggerFactory.getLogger(HarmfulPostCounter.class);
+
+    private final PostRepository postRepository;
+    private final Object seedLock = new Object();
+    private volatile DayBucket bucket;
+
+    public HarmfulPostCounter(PostRepository postRepository) {
+        this.postRepository = postRepository;
+    }
+
+    public long countToday() {
+        return current().count().get();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void seed() {
+        try {
+            current();
+        } catch (RuntimeException ex) {
+            log.warn("Failed to seed harmful post counter: {}", ex.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.admin.harmful-count-reseed-ms:60000}",
+            initialDelayString = "${app.admin.harmful-count-reseed-ms:60000}")
+    public void reseed() {
+        LocalDate today = LocalDate.now();
+        try {
+            long count = postRepository.countHarmfulSince(today.atStartOfDay());
+            synchronized (seedLock) {
+                bucket = new DayBucket(today, new AtomicLong(count));
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Failed to reseed harmful post counter: {}", ex.getMessage());
+        }
+    }
+
+    /**
+     * Moves the count from {@code before} to {@code after} once the surrounding transaction
+     * commits. Each argument is the report time of a harmful post, or {@code null} when the
+     * post was not counted.
+     */
+    void recordChange(LocalDateTime before, LocalDateTime after) {
+        if (Objects.equals(before, after)) {
+            return;
+        }
+        Runnable apply = () -> {
+            adjust(before, -1);
+            adjust(after, 1);
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply.run();
+                }
+            });
+        } else {
+            apply.run();
+        }
+    }
+
+    private void adjust(LocalDateTime reportedAt, long delta) {
+        DayBucket day = bucket;
+        // Changes for another day are picked up by the reseed at rollover.
+        if (day != null && reportedAt != null && reportedAt.toLocalDate().equals(day.day())) {
+            day.count().addAndGet(delta);
+        }
+    }
+
+    private DayBucket current() {
+        LocalDate today = LocalDate.now();
+        DayBucket day = bucket;
+        if (day != null && day.day().equals(today)) {
+            return day;
+        }
+        synchronized (seedLock) {
+            day = bucket;
+            if (day == null || !day.day().equals(today)) {
+                day = new DayBucket(today, new AtomicLong(postRepository.countHarmfulSince(today.atStartOfDay())));
+                bucket = day;
+            }
+            return day;
+        }
+    }
+
+    private record DayBucket(LocalDate day, AtomicLong count) {
+    }
+}
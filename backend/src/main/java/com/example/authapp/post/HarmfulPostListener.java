@@ -0,0 +1,48 @@
+package com.example.authapp.post;
+
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.PostLoad;
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+import java.time.LocalDateTime;
+
+/**
+ * JPA entity listener that feeds {@link HarmfulPostCounter}. It remembers whether a post
+ * counted as harmful when loaded and reports the difference on every write.
+ */
+@Component
+public class HarmfulPostListener {
+
+    private final HarmfulPostCounter counter;
+
+    // Lazy: the counter needs PostRepository, which is built after Hibernate creates its listeners.
+    public HarmfulPostListener(@Lazy HarmfulPostCounter counter) {
+        this.counter = counter;
+    }
+
+    @PostLoad
+    void onLoad(Post post) {
+        post.setCountedHarmfulAt(countedAt(post));
+    }
+
+    @PostPersist
+    @PostUpdate
+    void onWrite(Post post) {
+        LocalDateTime after = countedAt(post);
+        counter.recordChange(post.getCountedHarmfulAt(), after);
+        post.setCountedHarmfulAt(after);
+    }
+
+    @PostRemove
+    void onRemove(Post post) {
+        counter.recordChange(post.getCountedHarmfulAt(), null);
+        post.setCountedHarmfulAt(null);
+    }
+
+    private static LocalDateTime countedAt(Post post) {
+        return post.isHarmful() ? post.getReportedAt() : null;
+    }
+}
@@ -10,17 +10,21 @@ import javax.persistence.Column;
 import javax.persistence.Convert;
 import javax.persistence.ElementCollection;
 import javax.persistence.Entity;
+import javax.persistence.EntityListeners;
 import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.JoinColumn;
+import javax.persistence.JoinTable;
 import javax.persistence.ManyToMany;
 import javax.persistence.ManyToOne;
 import javax.persistence.OneToMany;
 import javax.persistence.OneToOne;
 import javax.persistence.PrePersist;
 import javax.persistence.Table;
+import javax.persistence.Transient;
 import javax.persistence.CascadeType;
 import javax.persistence.Enumerated;
 import javax.persistence.EnumType;
@@ -31,7 +35,11 @@ import java.util.List;
 import java.util.Set;
 
 @Entity
-@Table(name = "post")
+@EntityListeners({PostChangeListener.class, HarmfulPostListener.class})
+@Table(name = "post", indexes = {
+        @Index(name = "idx_post_moderation_vote_count", columnList = "moderation_status, vote_count, create_date"),
+        @Index(name = "idx_post_attachment_moderation_pending", columnList = "attachment_moderation_pending, create_date")
+})
 public class Post {
 
     @Id
@@ -58,11 +66,28 @@ public class Post {
     @OneToMany(mappedBy = "post", cascade = CascadeType.REMOVE)
     private List<Comment> commentList = new ArrayList<>();
 
+    // Written directly by PostVoteStore; the composite primary key keeps one row per voter.
     @ManyToMany
+    @JoinTable(name = "post_voter",
+            joinColumns = @JoinColumn(name = "post_id"),
+            inverseJoinColumns = @JoinColumn(name = "voter_id"))
     private Set<User> voter = new HashSet<>();
 
+    // Moved only by PostVoteStore's SQL; entity saves must not write a stale value back.
+    @Column(name = "vote_count", nullable = false, updatable = false, columnDefinition = "int default 0")
+    private int voteCount;
+
+    // Moved only by PostViewCounter's flush; entity saves must not write a stale value back.
+    @Column(name = "view_count", updatable = false)
     private int viewCount;
 
+    // Views counted in memory by PostViewCounter but not yet flushed to view_count.
+    @Transient
+    private long pendingViewCount;
+
+    @Transient
+    private LocalDateTime countedHarmfulAt;
+
     @Column(name = "blocked", nullable = false)
     private boolean blocked = false;
 
@@ -79,13 +104,17 @@ public class Post {
     @Column(name = "moderation_status", nullable = false, length = 20, columnDefinition = "varchar(20) default 'VISIBLE'")
     private PostModerationStatus moderationStatus = PostModerationStatus.VISIBLE;
 
+    // Set with the text verdict while image/video stages are outstanding; only changed by PostRepository queries.
+    @Column(name = "attachment_moderation_pending", nullable = false, updatable = false, columnDefinition = "bit(1) default 0")
+    private boolean attachmentModerationPending;
+
     @ElementCollection(fetch = FetchType.EAGER)
     @CollectionTable(name = "post_file_urls", joinColumns = @JoinColumn(name = "post_id"))
     @Column(name = "file_url")
     private List<String> fileUrls = new ArrayList<>();
 
-    @OneToOne(mappedBy = "post", cascade = CascadeType.ALL, fetch = FetchType.LAZY, optional = true)
-    private VideoModeration videoModeration;
+    @OneToMany(mappedBy = "post", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    private List<VideoModeration> videoModerations = new ArrayList<>();
 
     @OneToMany(mappedBy = "post", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<ImageModeration> imageModerations = new ArrayList<>();
@@ -183,14 +212,34 @@ public class Post {
         this.voter = voter;
     }
 
+    public int getVoteCount() {
+        return voteCount;
+    }
+
+    public void setVoteCount(int voteCount) {
+        this.voteCount = voteCount;
+    }
+
     public int getViewCount() {
-        return viewCount;
+        return (int) Math.min(Integer.MAX_VALUE, viewCount + pendingViewCount);
     }
 
     public void setViewCount(int viewCount) {
         this.viewCount = viewCount;
     }
 
+    public void setPendingViewCount(long pendingViewCount) {
+        this.pendingViewCount = pendingViewCount;
+    }
+
+    LocalDateTime getCountedHarmfulAt() {
+        return countedHarmfulAt;
+    }
+
+    void setCountedHarmfulAt(LocalDateTime countedHarmfulAt) {
+        this.countedHarmfulAt = countedHarmfulAt;
+    }
+
     public boolean isBlocked() {
         return blocked;
     }
@@ -223,6 +272,10 @@ public class Post {
         this.reportedAt = reportedAt;
     }
 
+    public boolean isAttachmentModerationPending() {
+        return attachmentModerationPending;
+    }
+
     public PostModerationStatus getModerationStatus() {
         return moderationStatus != null ? moderationStatus : PostModerationStatus.VISIBLE;
     }
@@ -239,12 +292,12 @@ public class Post {
         this.fileUrls = fileUrls;
     }
 
-    public VideoModeration getVideoModeration() {
-        return videoModeration;
+    public List<VideoModeration> getVideoModerations() {
+        return videoModerations;
     }
 
-    public void setVideoModeration(VideoModeration videoModeration) {
-        this.videoModeration = videoModeration;
+    public void setVideoModerations(List<VideoModeration> videoModerations) {
+        this.videoModerations = videoModerations;
     }
 
     public List<ImageModeration> getImageModerations() {
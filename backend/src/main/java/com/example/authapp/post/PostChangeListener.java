@@ -0,0 +1,29 @@
+package com.example.authapp.post;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+
+/**
+ * JPA entity listener that turns post writes into {@link PostChangedEvent}s, so read
+ * caches don't depend on every service remembering to publish one.
+ */
+@Component
+public class PostChangeListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public PostChangeListener(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    void onChange(Post post) {
+        eventPublisher.publishEvent(new PostChangedEvent(post.getId()));
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.authapp.post;
+
+/**
+ * Published whenever a post row is inserted, updated or deleted.
+ */
+public record PostChangedEvent(Long postId) {
+}
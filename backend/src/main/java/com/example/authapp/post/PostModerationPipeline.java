@@ -0,0 +1,266 @@
+package com.example.authapp.post;
+
+import com.amazonaws.services.rekognition.model.ModerationLabel;
+import com.example.authapp.config.AppProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Moderates newly created posts off the request thread.
+ * <p>
+ * Each post goes through the TEXT stage first; once the text verdict is applied, every
+ * attachment is handed to the IMAGE or VIDEO stage. Stages run on their own bounded
+ * executors. Progress is persisted on the post (PENDING until the text verdict, then
+ * {@code attachmentModerationPending} until every attachment is handled), so work that a
+ * full queue rejects, a failure or a restart drops is picked up by the recovery sweep.
+ */
+@Component
+public class PostModerationPipeline {
+
+    private static final Logger log = LoggerFactory.getLogger(PostModerationPipeline.class);
+
+    enum Stage {
+        TEXT, IMAGE, VIDEO
+    }
+
+    private final PostModerationService postModerationService;
+    private final PostRepository postRepository;
+    private final AppProperties.Async settings;
+    private final Map<Stage, ThreadPoolExecutor> executors = new EnumMap<>(Stage.class);
+    private final Map<Stage, Timer> stageTimers = new EnumMap<>(Stage.class);
+    private final Map<Stage, Timer> queueWaitTimers = new EnumMap<>(Stage.class);
+    private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+    private final Set<String> inFlightAttachments = ConcurrentHashMap.newKeySet();
+
+    public PostModerationPipeline(PostModerationService postModerationService,
+                                  PostRepository postRepository,
+                                  AppProperties appProperties,
+                                  MeterRegistry meterRegistry) {
+        this.postModerationService = postModerationService;
+        this.postRepository = postRepository;
+        this.settings = appProperties.getModeration().getAsync();
+
+        executors.put(Stage.TEXT, newExecutor(Stage.TEXT, settings.getTextThreads()));
+        executors.put(Stage.IMAGE, newExecutor(Stage.IMAGE, settings.getImageThreads()));
+        executors.put(Stage.VIDEO, newExecutor(Stage.VIDEO, settings.getVideoThreads()));
+
+        for (Stage stage : Stage.values()) {
+            String tag = stage.name().toLowerCase();
+            ThreadPoolExecutor executor = executors.get(stage);
+            Gauge.builder("community_moderation_queue_depth", executor, e -> e.getQueue().size())
+                    .description("Number of moderation tasks waiting for a worker")
+                    .tag("stage", tag)
+                    .register(meterRegistry);
+            Gauge.builder("community_moderation_active_workers", executor, ThreadPoolExecutor::getActiveCount)
+                    .description("Number of moderation workers currently running a task")
+                    .tag("stage", tag)
+                    .register(meterRegistry);
+            stageTimers.put(stage, Timer.builder("community_moderation_stage_latency")
+                    .description("Time spent running a moderation stage, including AWS calls")
+                    .tag("stage", tag)
+                    .register(meterRegistry));
+            queueWaitTimers.put(stage, Timer.builder("community_moderation_queue_wait")
+                    .description("Time a moderation task waited in the queue before running")
+                    .tag("stage", tag)
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * Queues moderation for a post. When called inside a transaction the post is only
+     * handed over after commit, so workers always see the persisted row.
+     */
+    public void submit(Post post) {
+        Long postId = post.getId();
+        String title = post.getTitle();
+        String content = post.getContent();
+        List<String> fileUrls = post.getFileUrls() != null ? new ArrayList<>(post.getFileUrls()) : List.of();
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    start(postId, title, content, fileUrls);
+                }
+            });
+        } else {
+            start(postId, title, content, fileUrls);
+        }
+    }
+
+    /**
+     * Re-queues posts that stayed PENDING, or whose attachments were never all scanned,
+     * longer than expected, e.g. after a restart dropped the in-memory queues.
+     */
+    @Scheduled(fixedDelayString = "${app.moderation.async.recovery-interval-ms:60000}")
+    public void recoverStalePending() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(settings.getStaleAfterMinutes());
+        List<Post> stale = postRepository.findByModerationStatusAndCreateDateBefore(PostModerationStatus.PENDING, cutoff);
+        if (!stale.isEmpty()) {
+            log.warn("Re-queueing {} posts stuck in PENDING moderation (cutoff={}).", stale.size(), cutoff);
+            stale.forEach(this::submit);
+        }
+
+        List<Post> unscanned = postRepository.findByAttachmentModerationPendingTrueAndCreateDateBefore(cutoff);
+        for (Post post : unscanned) {
+            if (post.getModerationStatus() == PostModerationStatus.PENDING) {
+                continue;
+            }
+            List<String> remaining = postModerationService.remainingAttachments(post.getId());
+            if (remaining.isEmpty()) {
+                postModerationService.settleAttachmentModeration(post.getId());
+            } else {
+                log.warn("Re-queueing {} unscanned attachments for postId={}.", remaining.size(), post.getId());
+                submitAttachments(post.getId(), remaining);
+            }
+        }
+    }
+
+    private void start(Long postId, String title, String content, List<String> fileUrls) {
+        if (!inFlight.add(postId)) {
+            log.debug("Moderation already queued for postId={}, skipping duplicate submit.", postId);
+            return;
+        }
+        enqueue(Stage.TEXT, postId, () -> runTextStage(postId, title, content, fileUrls), () -> inFlight.remove(postId));
+    }
+
+    private void runTextStage(Long postId, String title, String content, List<String> fileUrls) {
+        try {
+            List<PostModerationService.TextModerationResult> results = postModerationService.analyzeText(title, content);
+            postModerationService.applyTextVerdict(postId, results);
+        } catch (RuntimeException ex) {
+            // Fail closed: the post stays PENDING and the recovery sweep retries it.
+            log.error("Text moderation stage failed for postId={}; leaving it PENDING", postId, ex);
+            return;
+        }
+        submitAttachments(postId, fileUrls);
+    }
+
+    private void submitAttachments(Long postId, List<String> fileUrls) {
+        for (String url : fileUrls) {
+            String key = postId + "|" + url;
+            if (!postModerationService.needsScan(url) || !inFlightAttachments.add(key)) {
+                continue;
+            }
+            if (postModerationService.isVideo(url)) {
+                enqueue(Stage.VIDEO, postId, () -> runVideoStage(postId, url), () -> inFlightAttachments.remove(key));
+            } else {
+                enqueue(Stage.IMAGE, postId, () -> runImageStage(postId, url), () -> inFlightAttachments.remove(key));
+            }
+        }
+    }
+
+    /**
+     * Scans an image as soon as its direct upload completes, before any post references it.
+     * Videos are started by the VIDEO stage once the post is saved, since the job needs an owner.
+     */
+    public void prescanUpload(String url, String contentType) {
+        if (contentType == null || !contentType.startsWith("image/")) {
+            return;
+        }
+        enqueue(Stage.IMAGE, null, () -> postModerationService.prescanUpload(url), () -> { });
+    }
+
+    private void runImageStage(Long postId, String url) {
+        List<ModerationLabel> labels = postModerationService.prescannedLabels(url)
+                .orElseGet(() -> postModerationService.scanImage(postId, url));
+        if (labels != null) {
+            postModerationService.applyImageVerdict(postId, url, labels);
+            postModerationService.settleAttachmentModeration(postId);
+        }
+    }
+
+    private void runVideoStage(Long postId, String url) {
+        String jobId = postModerationService.startVideoModeration(postId, url);
+        if (jobId != null) {
+            postModerationService.registerVideoJob(postId, url, jobId);
+            postModerationService.settleAttachmentModeration(postId);
+        }
+    }
+
+    /**
+     * Runs {@code task} on the stage executor and {@code onDone} after it, or right away
+     * when the queue is full. Rejected work is left to the recovery sweep rather than run
+     * on the submitting request or scheduler thread.
+     */
+    private void enqueue(Stage stage, Long postId, Runnable task, Runnable onDone) {
+        long enqueuedAt = System.nanoTime();
+        try {
+            executors.get(stage).execute(() -> {
+                queueWaitTimers.get(stage).record(System.nanoTime() - enqueuedAt, TimeUnit.NANOSECONDS);
+                Timer.Sample sample = Timer.start();
+                try {
+                    task.run();
+                } catch (RuntimeException ex) {
+                    log.error("Moderation stage {} failed for postId={}", stage, postId, ex);
+                } finally {
+                    sample.stop(stageTimers.get(stage));
+                    onDone.run();
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            log.warn("Moderation stage {} queue is full; postId={} is left for the recovery sweep.", stage, postId);
+            onDone.run();
+        }
+    }
+
+    private ThreadPoolExecutor newExecutor(Stage stage, int threads) {
+        int poolSize = Math.max(1, threads);
+        return new ThreadPoolExecutor(
+                poolSize,
+                poolSize,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, settings.getQueueCapacity())),
+                namedThreadFactory("moderation-" + stage.name().toLowerCase() + "-"),
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+    }
+
+    private static ThreadFactory namedThreadFactory(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executors.values().forEach(ThreadPoolExecutor::shutdown);
+        for (Map.Entry<Stage, ThreadPoolExecutor> entry : executors.entrySet()) {
+            try {
+                if (!entry.getValue().awaitTermination(10, TimeUnit.SECONDS)) {
+                    log.warn("Moderation stage {} did not drain before shutdown; pending posts will be recovered on restart.", entry.getKey());
+                    entry.getValue().shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                entry.getValue().shutdownNow();
+            }
+        }
+    }
+}
@@ -0,0 +1,464 @@
+package com.example.authapp.post;
+
+import com.amazonaws.services.rekognition.AmazonRekognition;
+import com.amazonaws.services.rekognition.model.AmazonRekognitionException;
+import com.amazonaws.services.rekognition.model.DetectModerationLabelsRequest;
+import com.amazonaws.services.rekognition.model.DetectModerationLabelsResult;
+import com.amazonaws.services.rekognition.model.Image;
+import com.amazonaws.services.rekognition.model.ModerationLabel;
+import com.amazonaws.services.rekognition.model.NotificationChannel;
+import com.amazonaws.services.rekognition.model.StartContentModerationRequest;
+import com.amazonaws.services.rekognition.model.StartContentModerationResult;
+import com.amazonaws.services.rekognition.model.Video;
+import com.example.authapp.admin.AdminReviewItem;
+import com.example.authapp.admin.AdminReviewItemRepository;
+import com.example.authapp.admin.NotificationService;
+import com.example.authapp.image.ImageModeration;
+import com.example.authapp.media.MediaAssetService;
+import com.example.authapp.media.MediaModerationState;
+import com.example.authapp.media.MediaType;
+import com.example.authapp.moderation.service.TextModerationEngine;
+import com.example.authapp.s3.S3Service;
+import com.example.authapp.video.VideoModeration;
+import com.example.authapp.video.VideoModerationRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Runs the AWS moderation calls for a post and applies their verdicts.
+ * Remote calls happen outside of any transaction; each {@code apply*} method
+ * reloads the post in its own short transaction so pipeline workers never
+ * hold a DB connection while waiting on Comprehend or Rekognition.
+ */
+@Service
+public class PostModerationService {
+
+    private static final Logger log = LoggerFactory.getLogger(PostModerationService.class);
+
+    private final PostRepository postRepository;
+    private final AmazonRekognition amazonRekognition;
+    private final TextModerationEngine textModerationEngine;
+    private final AdminReviewItemRepository adminReviewItemRepository;
+    private final VideoModerationRepository videoModerationRepository;
+    private final NotificationService notificationService;
+    private final ObjectMapper objectMapper;
+    private final MediaAssetService mediaAssetService;
+    private final S3Service s3Service;
+
+    @Value("${cloud.aws.sns.topic.arn}")
+    private String snsTopicArn;
+
+    @Value("${cloud.aws.iam.role.arn}")
+    private String roleArn;
+
+    @Value("${cloud.aws.s3.bucket}")
+    private String s3BucketName;
+
+    @Value("${cloud.aws.cloudfront.domain:}")
+    private String cloudfrontDomain;
+
+    public PostModerationService(PostRepository postRepository,
+                                 AmazonRekognition amazonRekognition,
+                                 TextModerationEngine textModerationEngine,
+                                 AdminReviewItemRepository adminReviewItemRepository,
+                                 VideoModerationRepository videoModerationRepository,
+                                 NotificationService notificationService,
+                                 ObjectMapper objectMapper,
+                                 MediaAssetService mediaAssetService,
+                                 S3Service s3Service) {
+        this.postRepository = postRepository;
+        this.amazonRekognition = amazonRekognition;
+        this.textModerationEngine = textModerationEngine;
+        this.adminReviewItemRepository = adminReviewItemRepository;
+        this.videoModerationRepository = videoModerationRepository;
+        this.notificationService = notificationService;
+        this.objectMapper = objectMapper;
+        this.mediaAssetService = mediaAssetService;
+        this.s3Service = s3Service;
+    }
+
+    public List<TextModerationResult> analyzeText(String title, String content) {
+        TextModerationOutcome titleOutcome = textModerationEngine.moderate(title);
+        TextModerationOutcome contentOutcome = textModerationEngine.moderate(content);
+        if (titleOutcome.isFailed() || contentOutcome.isFailed()) {
+            throw new IllegalStateException("Text moderation is unavailable");
+        }
+
+        logTextModerationResult("TITLE", titleOutcome);
+        logTextModerationResult("CONTENT", contentOutcome);
+
+        List<TextModerationResult> results = new ArrayList<>(2);
+        results.add(new TextModerationResult("TITLE", title, titleOutcome));
+        results.add(new TextModerationResult("CONTENT", content, contentOutcome));
+        return results;
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void applyTextVerdict(Long postId, List<TextModerationResult> results) {
+        Post post = postRepository.findById(postId).orElse(null);
+        if (post == null) {
+            log.warn("Skipping text verdict for postId={} because the post no longer exists.", postId);
+            return;
+        }
+
+        boolean harmfulDetected = results.stream().anyMatch(result -> result.outcome().isBlocked());
+        boolean shouldNotify = results.stream().anyMatch(result -> result.outcome().shouldNotify());
+        boolean reviewCandidate = !harmfulDetected && shouldNotify;
+
+        if (post.getModerationStatus() == PostModerationStatus.PENDING) {
+            post.setBlocked(false);
+            if (harmfulDetected) {
+                post.markReported(true);
+            } else {
+                post.setHarmful(false);
+                post.setModerationStatus(reviewCandidate ? PostModerationStatus.REVIEW : PostModerationStatus.VISIBLE);
+            }
+            postRepository.save(post);
+        } else {
+            log.info("Post status changed while text moderation was queued, keeping it. postId={}, status={}",
+                    postId, post.getModerationStatus());
+        }
+
+        for (TextModerationResult result : results) {
+            if (result != null && result.outcome().shouldNotify()) {
+                createAdminReviewItemForText(post, result);
+            }
+        }
+
+        // Recorded with the verdict so attachments lost from the in-memory queues are recovered.
+        if (post.getFileUrls().stream().anyMatch(this::needsScan)) {
+            postRepository.updateAttachmentModerationPending(postId, true);
+        }
+    }
+
+    /**
+     * Attachments of the post that have no image verdict or registered video job yet.
+     */
+    @Transactional(readOnly = true)
+    public List<String> remainingAttachments(Long postId) {
+        Post post = postRepository.findById(postId).orElse(null);
+        if (post == null) {
+            return List.of();
+        }
+        Set<String> scannedImages = post.getImageModerations().stream()
+                .map(ImageModeration::getImageUrl)
+                .collect(Collectors.toSet());
+        Set<String> registeredVideos = post.getVideoModerations().stream()
+                .map(VideoModeration::getS3ObjectKey)
+                .collect(Collectors.toSet());
+        return post.getFileUrls().stream()
+                .filter(url -> isImage(url) ? !scannedImages.contains(url)
+                        : isVideo(url) && !registeredVideos.contains(extractKey(url)))
+                .toList();
+    }
+
+    /**
+     * Clears the post's attachment-pending flag once every attachment has been handled.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void settleAttachmentModeration(Long postId) {
+        if (remainingAttachments(postId).isEmpty()) {
+            postRepository.updateAttachmentModerationPending(postId, false);
+        }
+    }
+
+    boolean needsScan(String url) {
+        return isImage(url) || isVideo(url);
+    }
+
+    public List<ModerationLabel> scanImage(Long postId, String imageUrl) {
+        String bucket = extractBucketName(imageUrl);
+        String key = extractKey(imageUrl);
+
+        if (bucket == null || bucket.isBlank() || key == null || key.isBlank()) {
+            log.warn("Skipping image moderation due to missing bucket/key. url={}, bucket={}, key={}", imageUrl, bucket, key);
+            return null;
+        }
+
+        DetectModerationLabelsRequest request = new DetectModerationLabelsRequest()
+                .withImage(new Image().withS3Object(new com.amazonaws.services.rekognition.model.S3Object().withBucket(bucket).withName(key)))
+                .withMinConfidence(75F);
+
+        try {
+            log.info("Running image moderation for post={}, bucket={}, key={}", postId, bucket, key);
+            DetectModerationLabelsResult result = amazonRekognition.detectModerationLabels(request);
+            List<ModerationLabel> labels = result.getModerationLabels();
+            log.info("Image moderation completed. postId={}, key={}, detectedLabels={}", postId, key, labels.size());
+            return labels;
+        } catch (AmazonRekognitionException e) {
+            log.error("Error moderating image for postId={}, url={}", postId, imageUrl, e);
+            return null;
+        }
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void applyImageVerdict(Long postId, String imageUrl, List<ModerationLabel> labels) {
+        Post post = postRepository.findById(postId).orElse(null);
+        if (post == null) {
+            log.warn("Skipping image verdict for postId={} because the post no longer exists.", postId);
+            return;
+        }
+
+        try {
+            ImageModeration imageModeration = new ImageModeration();
+            imageModeration.setImageUrl(imageUrl);
+            imageModeration.setPost(post);
+            imageModeration.setInappropriate(!labels.isEmpty());
+            imageModeration.setModerationResult(objectMapper.writeValueAsString(labels));
+
+            post.getImageModerations().add(imageModeration);
+            mediaAssetService.markModeration(imageUrl,
+                    imageModeration.isInappropriate() ? MediaModerationState.FLAGGED : MediaModerationState.CLEAN);
+
+            if (imageModeration.isInappropriate()) {
+                log.warn("Inappropriate content detected in image. postId={}, url={}, labels={}", postId, imageUrl, labels.size());
+                post.markReported(true);
+                AdminReviewItem adminReviewItem = new AdminReviewItem();
+                adminReviewItem.setPost(post);
+                adminReviewItem.setContentUrl(imageUrl);
+                adminReviewItem.setContentType("IMAGE");
+                adminReviewItem.setModerationResult(imageModeration.getModerationResult());
+                adminReviewItem.setInappropriateDetected(true);
+                adminReviewItem.setReviewStatus(AdminReviewItem.ReviewStatus.PENDING);
+                adminReviewItemRepository.save(adminReviewItem);
+                notificationService.notifyAdmin(adminReviewItem);
+            }
+            postRepository.save(post);
+        } catch (JsonProcessingException e) {
+            log.error("Error storing image moderation for postId={}, url={}", postId, imageUrl, e);
+        }
+    }
+
+    /**
+     * Starts an asynchronous Rekognition video job. Completion is delivered through the
+     * SNS/SQS callback handled by {@code SqsListenerService}, with
+     * {@code VideoModerationReconciler} as the fallback for callbacks that never arrive.
+     */
+    public String startVideoModeration(Long postId, String videoUrl) {
+        String bucket = extractBucketName(videoUrl);
+        String key = extractKey(videoUrl);
+
+        if (bucket == null || bucket.isBlank() || key == null || key.isBlank()) {
+            log.warn("Skipping video moderation due to missing bucket/key. url={}, bucket={}, key={}", videoUrl, bucket, key);
+            return null;
+        }
+
+        StartContentModerationRequest request = new StartContentModerationRequest()
+                .withVideo(new Video()
+                        .withS3Object(new com.amazonaws.services.rekognition.model.S3Object()
+                                .withBucket(bucket)
+                                .withName(key)))
+                .withMinConfidence(75F);
+        if (snsTopicArn != null && !snsTopicArn.isBlank() && roleArn != null && !roleArn.isBlank()) {
+            request.withNotificationChannel(new NotificationChannel()
+                    .withSNSTopicArn(snsTopicArn)
+                    .withRoleArn(roleArn));
+        } else {
+            log.debug("No Rekognition notification channel configured; video job will be settled by the reconciler. postId={}", postId);
+        }
+
+        try {
+            log.info("Starting video moderation for post={}, bucket={}, key={}", postId, bucket, key);
+            StartContentModerationResult startResult = amazonRekognition.startContentModeration(request);
+            return startResult.getJobId();
+        } catch (AmazonRekognitionException e) {
+            log.error("Error starting video moderation for postId={}, url={}", postId, videoUrl, e);
+            return null;
+        }
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void registerVideoJob(Long postId, String videoUrl, String jobId) {
+        if (videoModerationRepository.findByJobId(jobId).isPresent()) {
+            log.info("Video moderation job already recorded by its callback. postId={}, jobId={}", postId, jobId);
+            return;
+        }
+        Post post = postRepository.findById(postId).orElse(null);
+        if (post == null) {
+            log.warn("Skipping video job registration for postId={} because the post no longer exists.", postId);
+            return;
+        }
+
+        VideoModeration videoModeration = new VideoModeration();
+        videoModeration.setPost(post);
+        post.getVideoModerations().add(videoModeration);
+        videoModeration.setJobId(jobId);
+        videoModeration.setS3ObjectKey(extractKey(videoUrl));
+        videoModeration.setStatus("IN_PROGRESS");
+        videoModerationRepository.save(videoModeration);
+        log.info("Registered video moderation job. postId={}, jobId={}", postId, jobId);
+    }
+
+    private void logTextModerationResult(String componentLabel, TextModerationOutcome outcome) {
+        if (outcome == null) {
+            log.info("Text moderation skipped for component='{}' (no outcome)", componentLabel);
+            return;
+        }
+
+        log.info("Text moderation result component='{}' blocked={} review={} negativeScore={} piiDetected={} summary='{}'",
+                componentLabel,
+                outcome.isBlocked(),
+                outcome.isReview(),
+                outcome.getNegativeScore(),
+                outcome.isPiiDetected(),
+                outcome.getSummary());
+
+        if (outcome.shouldNotify()) {
+            log.warn("Potentially harmful text detected for component='{}' (blocked={}, review={})",
+                    componentLabel,
+                    outcome.isBlocked(),
+                    outcome.isReview());
+        }
+    }
+
+    private void createAdminReviewItemForText(Post post, TextModerationResult result) {
+        if (result == null || result.outcome() == null) {
+            log.warn("Skipping admin review item creation for postId={} due to missing moderation result.", post != null ? post.getId() : null);
+            return;
+        }
+
+        AdminReviewItem adminReviewItem = new AdminReviewItem();
+        adminReviewItem.setPost(post);
+        adminReviewItem.setContentType("TEXT");
+        String originalText = result.originalText() != null ? result.originalText() : "";
+        adminReviewItem.setModeratedText("[" + result.component() + "] " + originalText);
+        adminReviewItem.setModerationResult(result.outcome().serializeModerationResult(objectMapper));
+        adminReviewItem.setInappropriateDetected(true);
+        adminReviewItem.setReviewStatus(AdminReviewItem.ReviewStatus.PENDING);
+        adminReviewItemRepository.save(adminReviewItem);
+        log.warn("Created admin review item for postId={} component='{}'", post.getId(), result.component());
+        notificationService.notifyAdmin(adminReviewItem);
+    }
+
+    public record TextModerationResult(String component, String originalText, TextModerationOutcome outcome) {}
+
+
+    /**
+     * Scans a directly uploaded image as soon as its upload completes and keeps the labels
+     * on its media asset, so the post pipeline can apply them without a second call.
+     */
+    public void prescanUpload(String imageUrl) {
+        List<ModerationLabel> labels = scanImage(null, imageUrl);
+        if (labels == null) {
+            return;
+        }
+        try {
+            mediaAssetService.recordScan(MediaAssetService.objectKeyFromUrl(imageUrl),
+                    labels.isEmpty() ? MediaModerationState.CLEAN : MediaModerationState.FLAGGED,
+                    objectMapper.writeValueAsString(labels));
+        } catch (JsonProcessingException e) {
+            log.warn("Failed to store upload scan for url={}: {}", imageUrl, e.getMessage());
+        }
+    }
+
+    /**
+     * Labels recorded by {@link #prescanUpload} for this image, if its scan already finished
+     * and the stored object is still the one that was scanned. The presigned PUT stays valid
+     * after completion, so a replaced object is verified again and rescanned by the caller.
+     */
+    public Optional<List<ModerationLabel>> prescannedLabels(String imageUrl) {
+        return mediaAssetService.findByObjectKey(MediaAssetService.objectKeyFromUrl(imageUrl))
+                .filter(asset -> asset.getModerationResult() != null && asset.getVerifiedEtag() != null)
+                .filter(asset -> asset.getModerationState() == MediaModerationState.CLEAN
+                        || asset.getModerationState() == MediaModerationState.FLAGGED)
+                .filter(asset -> isUnchangedSinceScan(asset.getObjectKey(), asset.getVerifiedEtag()))
+                .flatMap(asset -> {
+                    try {
+                        return Optional.of(objectMapper.readValue(asset.getModerationResult(),
+                                new TypeReference<List<ModerationLabel>>() {}));
+                    } catch (JsonProcessingException e) {
+                        log.warn("Ignoring unreadable upload scan for url={}: {}", imageUrl, e.getMessage());
+                        return Optional.empty();
+                    }
+                });
+    }
+
+    private boolean isUnchangedSinceScan(String objectKey, String verifiedEtag) {
+        if (verifiedEtag.equals(s3Service.currentETag(objectKey))) {
+            return true;
+        }
+        log.warn("Object changed after its upload scan, verifying and rescanning. key={}", objectKey);
+        try {
+            s3Service.verifyUploadedObject(objectKey);
+        } catch (IllegalArgumentException ex) {
+            // Oversized or non-media replacement: verification already deleted it.
+            log.warn("Replaced upload rejected. key={}, reason={}", objectKey, ex.getMessage());
+        }
+        return false;
+    }
+
+    boolean isVideo(String url) {
+        if (url == null) return false;
+        String lowerCaseUrl = url.toLowerCase();
+        if (lowerCaseUrl.endsWith(".mp4") || lowerCaseUrl.endsWith(".mov") || lowerCaseUrl.endsWith(".avi")) {
+            return true;
+        }
+        return !hasKnownSuffix(lowerCaseUrl) && mediaAssetService.mediaTypeOf(url).orElse(null) == MediaType.VIDEO;
+    }
+
+    boolean isImage(String url) {
+        if (url == null) return false;
+        String lowerCaseUrl = url.toLowerCase();
+        if (lowerCaseUrl.endsWith(".jpg") || lowerCaseUrl.endsWith(".jpeg") || lowerCaseUrl.endsWith(".png")) {
+            return true;
+        }
+        return !hasKnownSuffix(lowerCaseUrl) && mediaAssetService.mediaTypeOf(url).orElse(null) == MediaType.IMAGE;
+    }
+
+    // Keys without an extension (older direct uploads) are classified by their media asset's content type.
+    private boolean hasKnownSuffix(String lowerCaseUrl) {
+        int slash = lowerCaseUrl.lastIndexOf('/');
+        return lowerCaseUrl.indexOf('.', slash + 1) >= 0;
+    }
+
+    private String extractBucketName(String url) {
+        try {
+            java.net.URL parsedUrl = new java.net.URL(url);
+            String host = parsedUrl.getHost();
+            if (host == null) {
+                return s3BucketName;
+            }
+
+            String normalizedCloudfront = cloudfrontDomain;
+            if (normalizedCloudfront != null && !normalizedCloudfront.isBlank()) {
+                normalizedCloudfront = normalizedCloudfront.replaceFirst("^https?://", "");
+                if (normalizedCloudfront.endsWith("/")) {
+                    normalizedCloudfront = normalizedCloudfront.substring(0, normalizedCloudfront.length() - 1);
+                }
+                if (host.equalsIgnoreCase(normalizedCloudfront)) {
+                    return s3BucketName;
+                }
+            }
+
+            int dotIndex = host.indexOf('.');
+            if (dotIndex > 0) {
+                return host.substring(0, dotIndex);
+            }
+            return host;
+        } catch (java.net.MalformedURLException e) {
+            return s3BucketName;
+        }
+    }
+
+    private String extractKey(String url) {
+        try {
+            java.net.URL parsedUrl = new java.net.URL(url);
+            return parsedUrl.getPath().substring(1);
+        } catch (java.net.MalformedURLException e) {
+            return null;
+        }
+    }
+}
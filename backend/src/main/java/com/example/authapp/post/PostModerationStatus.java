@@ -1,8 +1,8 @@
 package com.example.authapp.post;
 
 public enum PostModerationStatus {
+    PENDING,
     VISIBLE,
     REVIEW,
     BLOCKED
 }
-
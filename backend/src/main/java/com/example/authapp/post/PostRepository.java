@@ -7,6 +7,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.transaction.annotation.Transactional;
@@ -28,8 +29,8 @@ public interface PostRepository extends JpaRepository<Post, Long>, JpaSpecificat
             SELECT p
             FROM Post p
             WHERE p.mainBoardName IN :mainBoardNames
-              AND size(p.voter) >= :minVotes
-            ORDER BY size(p.voter) DESC, p.createDate DESC
+              AND p.voteCount >= :minVotes
+            ORDER BY p.voteCount DESC, p.createDate DESC
             """)
     Page<Post> findPopularPostsInMainBoards(@Param("mainBoardNames") List<String> mainBoardNames,
                                             @Param("minVotes") int minVotes,
@@ -41,10 +42,11 @@ public interface PostRepository extends JpaRepository<Post, Long>, JpaSpecificat
     @Query("SELECT DISTINCT p.subBoardName FROM Post p WHERE p.mainBoardName = :mainBoardName")
     List<String> findDistinctSubBoardNameByMainBoardName(@Param("mainBoardName") String mainBoardName);
 
-    List<Post> findByVoterContains(User user);
-
     List<Post> findByAuthor(User author);
 
+    @Query("SELECT p.id FROM Post p WHERE p.author = :author")
+    List<Long> findIdsByAuthor(@Param("author") User author);
+
     List<Post> findByStatus(PostStatus status);
 
     List<Post> findByAuthorId(Long authorId);
@@ -55,6 +57,16 @@ public interface PostRepository extends JpaRepository<Post, Long>, JpaSpecificat
 
     List<Post> findByModerationStatus(PostModerationStatus moderationStatus);
 
+    List<Post> findByModerationStatusOrderByVoteCountDescCreateDateDesc(PostModerationStatus moderationStatus, Pageable pageable);
+
+    List<Post> findByModerationStatusAndCreateDateBefore(PostModerationStatus moderationStatus, LocalDateTime createDate);
+
+    List<Post> findByAttachmentModerationPendingTrueAndCreateDateBefore(LocalDateTime createDate);
+
+    @Modifying
+    @Query("UPDATE Post p SET p.attachmentModerationPending = :pending WHERE p.id = :postId")
+    int updateAttachmentModerationPending(@Param("postId") Long postId, @Param("pending") boolean pending);
+
     long countByStatus(PostStatus status);
 
     long countByHarmfulTrue();
@@ -0,0 +1,144 @@
+package com.example.authapp.post;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Keyword lookup over InnoDB FULLTEXT indexes built with the ngram parser, which splits
+ * Korean text into overlapping bigrams. MySQL keeps the indexes in step with every insert,
+ * update and delete, so there is nothing to sync from the application.
+ * <p>
+ * When the indexes are missing (or being rebuilt), the keyword is shorter than one ngram
+ * token, or it matches more than {@code app.search.max-candidates} posts,
+ * {@link #findMatchingIds} returns empty and callers fall back to LIKE.
+ */
+@Component
+public class PostSearchIndex implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(PostSearchIndex.class);
+    private static final String TITLE_INDEX = "ft_post_title";
+    private static final String CONTENT_INDEX = "ft_post_content";
+    private static final int NGRAM_TOKEN_SIZE = 2;
+
+    private final JdbcTemplate jdbcTemplate;
+    private volatile boolean available;
+
+    @Value("${app.search.max-candidates:2000}")
+    private int maxCandidates;
+
+    public PostSearchIndex(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        try {
+            ensureIndex(TITLE_INDEX, "title");
+            ensureIndex(CONTENT_INDEX, "content");
+            available = true;
+            log.info("Verified post full-text search indexes.");
+        } catch (Exception ex) {
+            log.error("Failed to ensure post full-text indexes; keyword search will use LIKE", ex);
+        }
+    }
+
+    /**
+     * Drops and rebuilds both indexes, e.g. after changing {@code ngram_token_size}.
+     * Searches fall back to LIKE while this runs. Disabled unless a cron is configured.
+     */
+    @Scheduled(cron = "${app.search.reindex-cron:-}")
+    public void reindex() {
+        available = false;
+        try {
+            dropIndexIfExists(TITLE_INDEX);
+            dropIndexIfExists(CONTENT_INDEX);
+            ensureIndex(TITLE_INDEX, "title");
+            ensureIndex(CONTENT_INDEX, "content");
+            available = true;
+            log.info("Rebuilt post full-text search indexes.");
+        } catch (Exception ex) {
+            log.error("Failed to rebuild post full-text indexes; keyword search will use LIKE", ex);
+        }
+    }
+
+    /**
+     * Returns the ids of all posts matching the keyword, or empty when the index can't
+     * answer this query. Callers add board and visibility filters and sort by date, so a
+     * truncated candidate list would silently drop results; common terms that exceed the
+     * cap go to LIKE instead.
+     */
+    public Optional<List<Long>> findMatchingIds(String searchType, String keyword) {
+        if (!available || keyword == null || "user".equals(searchType)) {
+            return Optional.empty();
+        }
+        String trimmed = keyword.trim();
+        if (trimmed.codePointCount(0, trimmed.length()) < NGRAM_TOKEN_SIZE) {
+            return Optional.empty();
+        }
+        // A quoted phrase only matches consecutive ngrams, which is close to LIKE '%kw%'.
+        String phrase = "\"" + trimmed.replace("\"", " ") + "\"";
+
+        String sql = switch (searchType == null ? "all" : searchType) {
+            case "title" -> """
+                    SELECT id FROM post
+                    WHERE MATCH(title) AGAINST (? IN BOOLEAN MODE)
+                    LIMIT ?
+                    """;
+            case "content" -> """
+                    SELECT id FROM post
+                    WHERE MATCH(content) AGAINST (? IN BOOLEAN MODE)
+                    LIMIT ?
+                    """;
+            default -> """
+                    SELECT id FROM post
+                    WHERE MATCH(title) AGAINST (? IN BOOLEAN MODE)
+                       OR MATCH(content) AGAINST (? IN BOOLEAN MODE)
+                    LIMIT ?
+                    """;
+        };
+
+        try {
+            List<Long> ids = "title".equals(searchType) || "content".equals(searchType)
+                    ? jdbcTemplate.queryForList(sql, Long.class, phrase, maxCandidates + 1)
+                    : jdbcTemplate.queryForList(sql, Long.class, phrase, phrase, maxCandidates + 1);
+            if (ids.size() > maxCandidates) {
+                log.debug("Keyword matches more than {} posts, falling back to LIKE", maxCandidates);
+                return Optional.empty();
+            }
+            return Optional.of(ids);
+        } catch (DataAccessException ex) {
+            log.warn("Full-text search failed, falling back to LIKE: {}", ex.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private void ensureIndex(String indexName, String column) {
+        Integer existing = jdbcTemplate.queryForObject("""
+                SELECT COUNT(*) FROM information_schema.statistics
+                WHERE table_schema = DATABASE() AND table_name = 'post' AND index_name = ?
+                """, Integer.class, indexName);
+        if (existing == null || existing == 0) {
+            jdbcTemplate.execute("ALTER TABLE post ADD FULLTEXT INDEX " + indexName + " (" + column + ") WITH PARSER ngram");
+        }
+    }
+
+    private void dropIndexIfExists(String indexName) {
+        Integer existing = jdbcTemplate.queryForObject("""
+                SELECT COUNT(*) FROM information_schema.statistics
+                WHERE table_schema = DATABASE() AND table_name = 'post' AND index_name = ?
+                """, Integer.class, indexName);
+        if (existing != null && existing > 0) {
+            jdbcTemplate.execute("ALTER TABLE post DROP INDEX " + indexName);
+        }
+    }
+}
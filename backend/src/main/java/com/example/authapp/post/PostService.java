@@ -1,43 +1,11 @@
 package com.example.authapp.post;
 
-import com.amazonaws.services.comprehend.AmazonComprehend;
-import com.amazonaws.services.comprehend.model.DetectPiiEntitiesRequest;
-import com.amazonaws.services.comprehend.model.DetectPiiEntitiesResult;
-import com.amazonaws.services.comprehend.model.DetectSentimentRequest;
-import com.amazonaws.services.comprehend.model.DetectSentimentResult;
-import com.amazonaws.services.comprehend.model.PiiEntity;
-import com.amazonaws.services.comprehend.model.SentimentScore;
-import com.amazonaws.services.comprehend.model.AmazonComprehendException;
-import com.amazonaws.services.rekognition.AmazonRekognition;
-import com.amazonaws.services.rekognition.model.AmazonRekognitionException;
-import com.amazonaws.services.rekognition.model.ContentModerationDetection;
-import com.amazonaws.services.rekognition.model.DetectModerationLabelsRequest;
-import com.amazonaws.services.rekognition.model.DetectModerationLabelsResult;
-import com.amazonaws.services.rekognition.model.GetContentModerationRequest;
-import com.amazonaws.services.rekognition.model.GetContentModerationResult;
-import com.amazonaws.services.rekognition.model.Image;
-import com.amazonaws.services.rekognition.model.ModerationLabel;
-import com.amazonaws.services.rekognition.model.S3Object;
-import com.amazonaws.services.rekognition.model.StartContentModerationRequest;
-import com.amazonaws.services.rekognition.model.StartContentModerationResult;
-import com.amazonaws.services.rekognition.model.Video;
-import com.amazonaws.services.translate.AmazonTranslate;
-import com.amazonaws.services.translate.model.TranslateTextRequest;
-import com.amazonaws.services.translate.model.TranslateTextResult;
-import com.example.authapp.admin.AdminReviewItem;
-import com.example.authapp.admin.AdminReviewItemRepository;
-import com.example.authapp.admin.NotificationService;
-import com.example.authapp.image.ImageModeration;
-import com.example.authapp.image.ImageModerationRepository;
+import com.example.authapp.media.MediaAssetService;
 import com.example.authapp.user.User;
-import com.example.authapp.video.VideoModeration;
-import com.example.authapp.video.VideoModerationRepository;
-import com.example.authapp.video.VideoModeration;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -53,61 +21,44 @@ import javax.persistence.criteria.Predicate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Locale;
 import java.util.Optional;
-import java.util.Set;
-import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 @Service
 public class PostService {
 
     private static final Logger log = LoggerFactory.getLogger(PostService.class);
-    private static final Set<String> COMPREHEND_PII_SUPPORTED_LANGUAGES = Set.of("en", "es");
 
     private final PostRepository postRepository;
-        private final AmazonRekognition amazonRekognition;
-        private final AmazonComprehend amazonComprehend;
-        private final AmazonTranslate amazonTranslate;
-    private final ImageModerationRepository imageModerationRepository;
-    private final AdminReviewItemRepository adminReviewItemRepository;
-    private final VideoModerationRepository videoModerationRepository;
-    private final NotificationService notificationService;
-    private final ObjectMapper objectMapper;
-
-    @Value("${cloud.aws.sns.topic.arn}")
-    private String snsTopicArn;
-
-    @Value("${cloud.aws.iam.role.arn}")
-    private String roleArn;
-
-    @Value("${cloud.aws.s3.bucket}")
-    private String s3BucketName;
-
-    @Value("${cloud.aws.cloudfront.domain:}")
-    private String cloudfrontDomain;
-
-    @Value("${app.moderation.text-language-code:ko}")
-    private String textModerationLanguageCode;
+    private final PostModerationPipeline postModerationPipeline;
+    private final PostSearchIndex postSearchIndex;
+    private final PostViewCounter postViewCounter;
+    private final PostVoteStore postVoteStore;
+    private final MediaAssetService mediaAssetService;
+    private final Timer fullTextSearchTimer;
+    private final Timer likeSearchTimer;
 
     public PostService(PostRepository postRepository,
-                       AmazonRekognition amazonRekognition,
-                       AmazonComprehend amazonComprehend,
-                       AmazonTranslate amazonTranslate,
-                       ImageModerationRepository imageModerationRepository,
-                       AdminReviewItemRepository adminReviewItemRepository,
-                       NotificationService notificationService,
-                       VideoModerationRepository videoModerationRepository,
-                       ObjectMapper objectMapper) {
+                       PostModerationPipeline postModerationPipeline,
+                       PostSearchIndex postSearchIndex,
+                       PostViewCounter postViewCounter,
+                       PostVoteStore postVoteStore,
+                       MediaAssetService mediaAssetService,
+                       MeterRegistry meterRegistry) {
         this.postRepository = postRepository;
-        this.amazonRekognition = amazonRekognition;
-        this.amazonComprehend = amazonComprehend;
-        this.amazonTranslate = amazonTranslate;
-        this.imageModerationRepository = imageModerationRepository;
-        this.adminReviewItemRepository = adminReviewItemRepository;
-        this.notificationService = notificationService;
-        this.videoModerationRepository = videoModerationRepository;
-        this.objectMapper = objectMapper;
+        this.postModerationPipeline = postModerationPipeline;
+        this.postSearchIndex = postSearchIndex;
+        this.postViewCounter = postViewCounter;
+        this.postVoteStore = postVoteStore;
+        this.mediaAssetService = mediaAssetService;
+        this.fullTextSearchTimer = Timer.builder("community_post_search_latency")
+                .description("Time spent running a keyword post search")
+                .tag("engine", "fulltext")
+                .register(meterRegistry);
+        this.likeSearchTimer = Timer.builder("community_post_search_latency")
+                .description("Time spent running a keyword post search")
+                .tag("engine", "like")
+                .register(meterRegistry);
     }
 
     @Transactional
@@ -121,386 +72,14 @@ public class PostService {
         post.setAuthor(author);
         post.setFileUrls(fileUrls);
         post.setCreateDate(java.time.LocalDateTime.now());
-
-        List<TextModerationResult> textModerationResults = moderateTextContent(post, title, content);
+        post.setModerationStatus(PostModerationStatus.PENDING);
 
         Post saved = this.postRepository.save(post);
-
-        if (fileUrls != null && !fileUrls.isEmpty()) {
-            for (String url : fileUrls) {
-                if (isVideo(url)) {
-                    log.debug("Detected video attachment for new post, running moderation synchronously. url={}", url);
-                    moderateVideo(saved, url);
-                } else if (isImage(url)) {
-                    log.debug("Detected image attachment for new post, running moderation synchronously. url={}", url);
-                    moderateImage(saved, url);
-                }
-            }
-        }
-
-        if (textModerationResults != null) {
-            for (TextModerationResult result : textModerationResults) {
-                if (result != null && result.outcome().shouldNotify()) {
-                    createAdminReviewItemForText(saved, result);
-                }
-            }
-        }
-
+        mediaAssetService.attachToPost(saved.getId(), fileUrls);
+        postModerationPipeline.submit(saved);
         return saved;
     }
 
-    private void moderateImage(Post post, String imageUrl) {
-        String bucket = extractBucketName(imageUrl);
-        String key = extractKey(imageUrl);
-
-        if (bucket == null || bucket.isBlank() || key == null || key.isBlank()) {
-            log.warn("Skipping image moderation due to missing bucket/key. url={}, bucket={}, key={}", imageUrl, bucket, key);
-            return;
-        }
-
-        DetectModerationLabelsRequest request = new DetectModerationLabelsRequest()
-                .withImage(new Image().withS3Object(new com.amazonaws.services.rekognition.model.S3Object().withBucket(bucket).withName(key)))
-                .withMinConfidence(75F);
-
-        try {
-            log.info("Running image moderation for post={}, bucket={}, key={}", post.getId(), bucket, key);
-            DetectModerationLabelsResult result = amazonRekognition.detectModerationLabels(request);
-            List<ModerationLabel> labels = result.getModerationLabels();
-            log.info("Image moderation completed. postId={}, key={}, detectedLabels={}", post.getId(), key, labels.size());
-
-            ImageModeration imageModeration = new ImageModeration();
-            imageModeration.setImageUrl(imageUrl);
-            imageModeration.setPost(post);
-            imageModeration.setInappropriate(!labels.isEmpty());
-            imageModeration.setModerationResult(objectMapper.writeValueAsString(labels));
-
-            post.getImageModerations().add(imageModeration);
-
-            if (imageModeration.isInappropriate()) {
-                log.warn("Inappropriate content detected in image. postId={}, key={}, labels={}", post.getId(), key, labels.size());
-                post.markReported(true);
-                AdminReviewItem adminReviewItem = new AdminReviewItem();
-                adminReviewItem.setPost(post);
-                adminReviewItem.setContentUrl(imageUrl);
-                adminReviewItem.setContentType("IMAGE"); // Fixed: Use String literal
-                adminReviewItem.setModerationResult(imageModeration.getModerationResult());
-                adminReviewItem.setInappropriateDetected(true);
-                adminReviewItem.setReviewStatus(AdminReviewItem.ReviewStatus.PENDING);
-                adminReviewItemRepository.save(adminReviewItem);
-                notificationService.notifyAdmin(adminReviewItem);
-            }
-
-        } catch (AmazonRekognitionException | JsonProcessingException e) {
-            log.error("Error moderating image for postId={}, url={}", post.getId(), imageUrl, e);
-        }
-    }
-
-    private void moderateVideo(Post post, String videoUrl) {
-        String bucket = extractBucketName(videoUrl);
-        String key = extractKey(videoUrl);
-
-        if (bucket == null || bucket.isBlank() || key == null || key.isBlank()) {
-            log.warn("Skipping video moderation due to missing bucket/key. url={}, bucket={}, key={}", videoUrl, bucket, key);
-            return;
-        }
-
-        StartContentModerationRequest request = new StartContentModerationRequest()
-                .withVideo(new Video()
-                        .withS3Object(new com.amazonaws.services.rekognition.model.S3Object()
-                                .withBucket(bucket)
-                                .withName(key)))
-                .withMinConfidence(75F);
-
-        try {
-            log.info("Running video moderation for post={}, bucket={}, key={}", post.getId(), bucket, key);
-            StartContentModerationResult startResult = amazonRekognition.startContentModeration(request);
-            String jobId = startResult.getJobId();
-            List<ModerationLabel> labels = collectVideoModerationLabels(jobId);
-            VideoModeration videoModeration = post.getVideoModeration();
-            if (videoModeration == null) {
-                videoModeration = new VideoModeration();
-                videoModeration.setPost(post);
-                post.setVideoModeration(videoModeration);
-            }
-            videoModeration.setJobId(jobId);
-            videoModeration.setS3ObjectKey(key);
-            videoModeration.setStatus("SUCCEEDED");
-            videoModeration.setModerationResult(objectMapper.writeValueAsString(labels));
-            videoModerationRepository.save(videoModeration);
-
-            if (!labels.isEmpty()) {
-                log.warn("Inappropriate content detected in video. postId={}, key={}, labels={}", post.getId(), key, labels.size());
-                post.markReported(true);
-                AdminReviewItem adminReviewItem = new AdminReviewItem();
-                adminReviewItem.setPost(post);
-                adminReviewItem.setContentUrl(videoUrl);
-                adminReviewItem.setContentType("VIDEO");
-                adminReviewItem.setModerationResult(videoModeration.getModerationResult());
-                adminReviewItem.setInappropriateDetected(true);
-                adminReviewItem.setReviewStatus(AdminReviewItem.ReviewStatus.PENDING);
-                adminReviewItemRepository.save(adminReviewItem);
-                notificationService.notifyAdmin(adminReviewItem);
-            }
-        } catch (AmazonRekognitionException | JsonProcessingException e) {
-            log.error("Error moderating video for postId={}, url={}", post.getId(), videoUrl, e);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            log.error("Video moderation interrupted for postId={}, url={}", post.getId(), videoUrl, e);
-        }
-    }
-
-    private List<ModerationLabel> collectVideoModerationLabels(String jobId) throws InterruptedException {
-        List<ModerationLabel> labels = new ArrayList<>();
-        String nextToken = null;
-
-        while (true) {
-            GetContentModerationRequest request = new GetContentModerationRequest()
-                    .withJobId(jobId)
-                    .withMaxResults(200)
-                    .withNextToken(nextToken);
-            GetContentModerationResult result = amazonRekognition.getContentModeration(request);
-            String status = result.getJobStatus();
-            if ("IN_PROGRESS".equals(status)) {
-                TimeUnit.SECONDS.sleep(5);
-                continue;
-            }
-            if (!"SUCCEEDED".equals(status) && !"PARTIAL_SUCCESS".equals(status)) {
-                throw new AmazonRekognitionException("Video moderation job failed. jobId=" + jobId + ", status=" + status);
-            }
-            List<ContentModerationDetection> detections = result.getModerationLabels();
-            if (detections != null) {
-                for (ContentModerationDetection detection : detections) {
-                    if (detection != null && detection.getModerationLabel() != null) {
-                        labels.add(detection.getModerationLabel());
-                    }
-                }
-            }
-            nextToken = result.getNextToken();
-            if (nextToken == null || nextToken.isBlank()) {
-                break;
-            }
-        }
-        return labels;
-    }
-
-    private List<TextModerationResult> moderateTextContent(Post post, String title, String content) {
-        TextModerationOutcome titleOutcome = moderateText(title);
-        TextModerationOutcome contentOutcome = moderateText(content);
-
-        logTextModerationResult("TITLE", titleOutcome);
-        logTextModerationResult("CONTENT", contentOutcome);
-
-        boolean harmfulDetected = titleOutcome.isBlocked() || contentOutcome.isBlocked();
-        boolean shouldNotify = titleOutcome.shouldNotify() || contentOutcome.shouldNotify();
-        boolean reviewCandidate = !harmfulDetected && shouldNotify;
-
-        post.setBlocked(false);
-
-        if (harmfulDetected) {
-            post.markReported(true);
-        } else {
-            post.setHarmful(false);
-            post.setModerationStatus(reviewCandidate ? PostModerationStatus.REVIEW : PostModerationStatus.VISIBLE);
-        }
-
-        List<TextModerationResult> results = new ArrayList<>(2);
-        results.add(new TextModerationResult("TITLE", title, titleOutcome));
-        results.add(new TextModerationResult("CONTENT", content, contentOutcome));
-        return results;
-    }
-
-    private TextModerationOutcome moderateText(String text) {
-        if (text == null || text.isBlank()) {
-            return new TextModerationOutcome(false, false, false, 0.0, "", null, null);
-        }
-
-        String trimmedText = text.length() > 4500 ? text.substring(0, 4500) : text;
-        String languageCode = resolveTextLanguageCode();
-
-        try {
-            DetectSentimentRequest sentimentRequest = new DetectSentimentRequest()
-                    .withText(trimmedText)
-                    .withLanguageCode(languageCode);
-            DetectSentimentResult sentimentResult = amazonComprehend.detectSentiment(sentimentRequest);
-            SentimentScore sentimentScore = sentimentResult.getSentimentScore();
-
-            double negativeScore = sentimentScore != null && sentimentScore.getNegative() != null
-                    ? sentimentScore.getNegative()
-                    : 0.0d;
-
-            boolean piiDetected = false;
-            int piiCount = 0;
-            boolean piiScanAttempted = false;
-            DetectPiiEntitiesResult piiResult = null;
-
-            String textToModerate = trimmedText;
-            String languageForPii = languageCode;
-
-            if ("ko".equals(languageCode)) {
-                try {
-                    TranslateTextRequest request = new TranslateTextRequest()
-                            .withText(trimmedText)
-                            .withSourceLanguageCode("ko")
-                            .withTargetLanguageCode("en");
-                    TranslateTextResult result = amazonTranslate.translateText(request);
-                    textToModerate = result.getTranslatedText();
-                    languageForPii = "en";
-                } catch (Exception e) {
-                    log.error("Failed to translate text from Korean to English for moderation.", e);
-                }
-            }
-
-            if (supportsPiiDetection(languageForPii)) {
-                piiScanAttempted = true;
-                DetectPiiEntitiesRequest piiRequest = new DetectPiiEntitiesRequest()
-                        .withText(textToModerate)
-                        .withLanguageCode(languageForPii);
-                piiResult = amazonComprehend.detectPiiEntities(piiRequest);
-                piiDetected = piiResult.getEntities() != null && !piiResult.getEntities().isEmpty();
-                piiCount = piiDetected ? piiResult.getEntities().size() : 0;
-            } else {
-                log.debug("Skipping PII detection for languageCode='{}'. Supported languages={}.", languageCode, COMPREHEND_PII_SUPPORTED_LANGUAGES);
-            }
-
-            boolean isBlocked = piiDetected;
-            boolean isReview = negativeScore >= 0.01d;
-            boolean notifyAdmin = isBlocked || isReview;
-
-            String summary = buildTextSummary(negativeScore, sentimentResult.getSentiment(), piiCount, piiScanAttempted);
-
-            return new TextModerationOutcome(notifyAdmin, piiDetected, piiScanAttempted, negativeScore, summary, sentimentResult, piiResult);
-
-        } catch (AmazonComprehendException e) {
-            log.error("Failed to run text moderation for text. Falling back to visible status.", e);
-            return new TextModerationOutcome(false, false, false, 0.0, "Error", null, null);
-        }
-    }
-
-    private void logTextModerationResult(String componentLabel, TextModerationOutcome outcome) {
-        if (outcome == null) {
-            log.info("Text moderation skipped for component='{}' (no outcome)", componentLabel);
-            return;
-        }
-
-        log.info("Text moderation result component='{}' blocked={} review={} negativeScore={} piiDetected={} summary='{}'",
-                componentLabel,
-                outcome.isBlocked(),
-                outcome.isReview(),
-                outcome.getNegativeScore(),
-                outcome.isPiiDetected(),
-                outcome.getSummary());
-
-        if (outcome.shouldNotify()) {
-            log.warn("Potentially harmful text detected for component='{}' (blocked={}, review={})",
-                    componentLabel,
-                    outcome.isBlocked(),
-                    outcome.isReview());
-        }
-    }
-
-    private String buildTextSummary(double negativeScore, String dominantSentiment, int piiCount, boolean piiScanAttempted) {
-        String summary = String.format("sentiment=%s, negative=%.3f, piiCount=%d", dominantSentiment, negativeScore, piiCount);
-        if (!piiScanAttempted) {
-            summary += " (pii-scan-skipped)";
-        }
-        return summary;
-    }
-
-    private void createAdminReviewItemForText(Post post, TextModerationResult result) {
-        if (result == null || result.outcome() == null) {
-            log.warn("Skipping admin review item creation for postId={} due to missing moderation result.", post != null ? post.getId() : null);
-            return;
-        }
-
-        AdminReviewItem adminReviewItem = new AdminReviewItem();
-        adminReviewItem.setPost(post);
-        adminReviewItem.setContentType("TEXT");
-        String originalText = result.originalText() != null ? result.originalText() : "";
-        adminReviewItem.setModeratedText("[" + result.component() + "] " + originalText);
-        adminReviewItem.setModerationResult(result.outcome().serializeModerationResult(objectMapper));
-        adminReviewItem.setInappropriateDetected(true);
-        adminReviewItem.setReviewStatus(AdminReviewItem.ReviewStatus.PENDING);
-        adminReviewItemRepository.save(adminReviewItem);
-        log.warn("Created admin review item for postId={} component='{}'", post.getId(), result.component());
-        notificationService.notifyAdmin(adminReviewItem);
-    }
-
-    private record TextModerationResult(String component, String originalText, TextModerationOutcome outcome) {}
-
-    private String abbreviate(String value, int max) {
-        if (value == null) {
-            return "";
-        }
-        if (value.length() <= max) {
-            return value;
-        }
-        return value.substring(0, Math.max(0, max - 3)) + "...";
-    }
-
-    private String resolveTextLanguageCode() {
-        if (textModerationLanguageCode == null || textModerationLanguageCode.isBlank()) {
-            return "ko";
-        }
-        return textModerationLanguageCode.trim().toLowerCase(Locale.ROOT);
-    }
-
-    private boolean supportsPiiDetection(String languageCode) {
-        if (languageCode == null || languageCode.isBlank()) {
-            return false;
-        }
-        return COMPREHEND_PII_SUPPORTED_LANGUAGES.contains(languageCode.toLowerCase(Locale.ROOT));
-    }
-
-    private boolean isVideo(String url) {
-        if (url == null) return false;
-        String lowerCaseUrl = url.toLowerCase();
-        return lowerCaseUrl.endsWith(".mp4") || lowerCaseUrl.endsWith(".mov") || lowerCaseUrl.endsWith(".avi");
-    }
-
-    private boolean isImage(String url) {
-        if (url == null) return false;
-        String lowerCaseUrl = url.toLowerCase();
-        return lowerCaseUrl.endsWith(".jpg") || lowerCaseUrl.endsWith(".jpeg") || lowerCaseUrl.endsWith(".png");
-    }
-
-    private String extractBucketName(String url) {
-        try {
-            java.net.URL parsedUrl = new java.net.URL(url);
-            String host = parsedUrl.getHost();
-            if (host == null) {
-                return s3BucketName;
-            }
-
-            String normalizedCloudfront = cloudfrontDomain;
-            if (normalizedCloudfront != null && !normalizedCloudfront.isBlank()) {
-                normalizedCloudfront = normalizedCloudfront.replaceFirst("^https?://", "");
-                if (normalizedCloudfront.endsWith("/")) {
-                    normalizedCloudfront = normalizedCloudfront.substring(0, normalizedCloudfront.length() - 1);
-                }
-                if (host.equalsIgnoreCase(normalizedCloudfront)) {
-                    return s3BucketName;
-                }
-            }
-
-            int dotIndex = host.indexOf('.');
-            if (dotIndex > 0) {
-                return host.substring(0, dotIndex);
-            }
-            return host;
-        } catch (java.net.MalformedURLException e) {
-            return s3BucketName;
-        }
-    }
-
-    private String extractKey(String url) {
-        try {
-            java.net.URL parsedUrl = new java.net.URL(url);
-            return parsedUrl.getPath().substring(1);
-        } catch (java.net.MalformedURLException e) {
-            return null;
-        }
-    }
-
     private Specification<Post> search(String searchType, String kw) {
         return (root, query, cb) -> {
             query.distinct(true);
@@ -527,8 +106,41 @@ public class PostService {
         };
     }
 
+    /**
+     * Same filter as {@link #search} but restricted to ids already matched by the full-text index,
+     * so title/content never go through LIKE.
+     */
+    private Specification<Post> indexedSearch(String searchType, String kw, List<Long> matchingIds) {
+        return (root, query, cb) -> {
+            Predicate matched = matchingIds.isEmpty() ? cb.disjunction() : root.get("id").in(matchingIds);
+            if ("title".equals(searchType) || "content".equals(searchType)) {
+                return matched;
+            }
+            Join<Post, User> author = root.join("author", JoinType.LEFT);
+            return cb.or(matched, cb.like(author.get("username"), "%" + kw + "%"));
+        };
+    }
+
+    private Page<Post> findWithSearch(Specification<Post> filters, String searchType, String kw, Pageable pageable) {
+        Page<Post> result;
+        if (kw == null || kw.trim().isEmpty()) {
+            result = this.postRepository.findAll(filters, pageable);
+        } else {
+            Optional<List<Long>> matchingIds = postSearchIndex.findMatchingIds(searchType, kw);
+            if (matchingIds.isPresent()) {
+                Specification<Post> spec = filters.and(indexedSearch(searchType, kw, matchingIds.get()));
+                result = fullTextSearchTimer.record(() -> this.postRepository.findAll(spec, pageable));
+            } else {
+                Specification<Post> spec = filters.and(search(searchType, kw));
+                result = likeSearchTimer.record(() -> this.postRepository.findAll(spec, pageable));
+            }
+        }
+        result.forEach(postViewCounter::applyPending);
+        return result;
+    }
+
     private Specification<Post> popularFilter() {
-        return (root, query, cb) -> cb.greaterThanOrEqualTo(cb.size(root.get("voter")), 1);
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("voteCount"), 1);
     }
 
     private Specification<Post> visibleOnly() {
@@ -542,8 +154,7 @@ public class PostService {
         List<Sort.Order> sorts = new ArrayList<>();
         sorts.add(Sort.Order.desc("createDate"));
         Pageable pageable = PageRequest.of(page, 15, Sort.by(sorts));
-        Specification<Post> spec = search(searchType, kw).and(visibleOnly());
-        return this.postRepository.findAll(spec, pageable);
+        return findWithSearch(visibleOnly(), searchType, kw, pageable);
     }
 
     public Page<Post> getListByCategory(String subBoardName, int page, String searchType, String kw, boolean isPopular) {
@@ -551,12 +162,11 @@ public class PostService {
         sorts.add(Sort.Order.desc("createDate"));
         Pageable pageable = PageRequest.of(page, 15, Sort.by(sorts));
         Specification<Post> spec = (root, query, cb) -> cb.equal(root.get("subBoardName"), subBoardName);
-        spec = spec.and(search(searchType, kw));
         spec = spec.and(visibleOnly());
         if (isPopular) {
             spec = spec.and(popularFilter());
         }
-        return this.postRepository.findAll(spec, pageable);
+        return findWithSearch(spec, searchType, kw, pageable);
     }
 
     public Page<Post> getListByCategoryAndTab(String subBoardName, String tabItem, int page, String searchType, String kw, boolean isPopular) {
@@ -568,12 +178,11 @@ public class PostService {
             Predicate p2 = cb.equal(root.get("tabItem"), tabItem);
             return cb.and(p1, p2);
         };
-        spec = spec.and(search(searchType, kw));
         spec = spec.and(visibleOnly());
         if (isPopular) {
             spec = spec.and(popularFilter());
         }
-        return this.postRepository.findAll(spec, pageable);
+        return findWithSearch(spec, searchType, kw, pageable);
     }
 
     public Page<Post> getGalleryPosts(GalleryQuery query) {
@@ -594,26 +203,22 @@ public class PostService {
         if (StringUtils.hasText(query.tabItem()) && !"전체".equals(query.tabItem())) {
             spec = spec.and((root, q, cb) -> cb.equal(root.get("tabItem"), query.tabItem()));
         }
-        spec = spec.and(search(query.searchType(), query.keyword()));
-
-        return postRepository.findAll(spec, pageable);
+        return findWithSearch(spec, query.searchType(), query.keyword(), pageable);
     }
 
     public Post getPost(Long id) {
-        Optional<Post> post = this.postRepository.findById(id);
-        if (post.isPresent()) {
-            Post post1 = post.get();
-            post1.setViewCount(post1.getViewCount() + 1);
-            this.postRepository.save(post1);
-            return post1;
-        } else {
-            throw new RuntimeException("Post not found"); // Or a custom exception
-        }
+        Post post = this.postRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Post not found"));
+        postViewCounter.increment(id);
+        postViewCounter.applyPending(post);
+        return post;
     }
 
     public Post getPostWithoutIncrement(Long id) {
-        return this.postRepository.findById(id)
+        Post post = this.postRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Post not found"));
+        postViewCounter.applyPending(post);
+        return post;
     }
 
     public Post getPostForEdit(Long id) {
@@ -631,30 +236,25 @@ public class PostService {
         post.getFileUrls().clear();
         post.getFileUrls().addAll(fileUrls);
         this.postRepository.save(post);
+        mediaAssetService.attachToPost(post.getId(), fileUrls);
     }
 
     public void delete(Post post) {
+        mediaAssetService.detachPost(post.getId());
         this.postRepository.delete(post);
     }
 
-    public void vote(Post post, User user) {
-        if (post.getVoter().contains(user)) {
-            post.getVoter().remove(user);
-        }
-        else {
-            post.getVoter().add(user);
-        }
-        this.postRepository.save(post);
+    public PostVoteStore.VoteResult vote(Post post, User user) {
+        return postVoteStore.toggle(post.getId(), user.getId());
+    }
+
+    public PostVoteStore.VoteResult setVote(Post post, User user, boolean voted) {
+        return postVoteStore.setVote(post.getId(), user.getId(), voted);
     }
 
     public List<Post> getPopularList(int count) {
-        List<Post> allPosts = this.postRepository.findAll().stream()
-                .filter(post -> post.getModerationStatus() == PostModerationStatus.VISIBLE)
-                .collect(Collectors.toList());
-        return allPosts.stream()
-                .sorted((p1, p2) -> Integer.compare(p2.getVoter().size(), p1.getVoter().size()))
-                .limit(count)
-                .collect(Collectors.toList());
+        Pageable pageable = PageRequest.of(0, Math.max(1, count));
+        return this.postRepository.findByModerationStatusOrderByVoteCountDescCreateDateDesc(PostModerationStatus.VISIBLE, pageable);
     }
 
     public List<Post> getPopularGalleryPosts(int count) {
@@ -703,31 +303,39 @@ public class PostService {
         Pageable galleryPageable = PageRequest.of(galleryPage, 5, Sort.by(Sort.Order.desc("createDate"))); // 5 items per page for gallery
         Pageable freeboardPageable = PageRequest.of(freeboardPage, 10, Sort.by(Sort.Order.desc("createDate"))); // 10 items per page for freeboard
 
+        // One index lookup serves both boards; LIKE is only the fallback when the index can't answer.
+        Optional<List<Long>> matchingIds = postSearchIndex.findMatchingIds("all", keyword);
+        Specification<Post> keywordSpec = matchingIds
+                .<Specification<Post>>map(ids -> (root, query, cb) -> ids.isEmpty() ? cb.disjunction() : root.get("id").in(ids))
+                .orElseGet(() -> (root, query, cb) -> cb.or(
+                        cb.like(cb.lower(root.get("title")), "%" + keyword.toLowerCase() + "%"),
+                        cb.like(cb.lower(root.get("content")), "%" + keyword.toLowerCase() + "%")
+                ));
+        Timer searchTimer = matchingIds.isPresent() ? fullTextSearchTimer : likeSearchTimer;
+
         Specification<Post> gallerySpec;
         List<String> galleryMainBoards = java.util.Arrays.asList("game", "travel", "exercise", "movie", "music", "invest");
         gallerySpec = (root, query, cb) -> {
             Predicate mainBoardPredicate = root.get("mainBoardName").in(galleryMainBoards);
-            Predicate keywordPredicate = cb.or(
-                cb.like(cb.lower(root.get("title")), "%" + keyword.toLowerCase() + "%"),
-                cb.like(cb.lower(root.get("content")), "%" + keyword.toLowerCase() + "%")
-            );
             Predicate visibilityPredicate = cb.equal(root.get("moderationStatus"), PostModerationStatus.VISIBLE);
-            return cb.and(mainBoardPredicate, keywordPredicate, visibilityPredicate);
+            return cb.and(mainBoardPredicate, visibilityPredicate);
         };
+        gallerySpec = gallerySpec.and(keywordSpec);
 
         Specification<Post> freeboardSpec;
         freeboardSpec = (root, query, cb) -> {
             Predicate subBoardPredicate = cb.equal(root.get("subBoardName"), "자유");
-            Predicate keywordPredicate = cb.or(
-                cb.like(cb.lower(root.get("title")), "%" + keyword.toLowerCase() + "%"),
-                cb.like(cb.lower(root.get("content")), "%" + keyword.toLowerCase() + "%")
-            );
             Predicate visibilityPredicate = cb.equal(root.get("moderationStatus"), PostModerationStatus.VISIBLE);
-            return cb.and(subBoardPredicate, keywordPredicate, visibilityPredicate);
+            return cb.and(subBoardPredicate, visibilityPredicate);
         };
-
-        Page<Post> galleryPosts = this.postRepository.findAll(gallerySpec, galleryPageable);
-        Page<Post> freeboardPosts = this.postRepository.findAll(freeboardSpec, freeboardPageable);
+        freeboardSpec = freeboardSpec.and(keywordSpec);
+
+        Specification<Post> finalGallerySpec = gallerySpec;
+        Specification<Post> finalFreeboardSpec = freeboardSpec;
+        Page<Post> galleryPosts = searchTimer.record(() -> this.postRepository.findAll(finalGallerySpec, galleryPageable));
+        Page<Post> freeboardPosts = searchTimer.record(() -> this.postRepository.findAll(finalFreeboardSpec, freeboardPageable));
+        galleryPosts.forEach(postViewCounter::applyPending);
+        freeboardPosts.forEach(postViewCounter::applyPending);
 
         java.util.Map<String, Page<Post>> results = new java.util.HashMap<>();
         results.put("gallery", galleryPosts);
@@ -0,0 +1,77 @@
+package com.example.authapp.post;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Write-behind view counter. Detail views only bump an in-memory per-post delta;
+ * the deltas are added to {@code post.view_count} in one JDBC batch every few seconds
+ * and once more on shutdown. Increments and the flush's take-and-remove are both
+ * atomic map operations on the key, so a view is counted either in this flush or the next.
+ */
+@Component
+public class PostViewCounter {
+
+    private static final Logger log = LoggerFactory.getLogger(PostViewCounter.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ConcurrentHashMap<Long, Long> pending = new ConcurrentHashMap<>();
+
+    public PostViewCounter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void increment(Long postId) {
+        if (postId != null) {
+            pending.merge(postId, 1L, Long::sum);
+        }
+    }
+
+    /**
+     * Makes the post report its persisted count plus views that haven't been flushed yet.
+     */
+    public void applyPending(Post post) {
+        if (post == null || post.getId() == null) {
+            return;
+        }
+        post.setPendingViewCount(pending.getOrDefault(post.getId(), 0L));
+    }
+
+    @Scheduled(fixedDelayString = "${app.post.view-flush-interval-ms:5000}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<Object[]> batch = new ArrayList<>();
+        for (Long postId : pending.keySet()) {
+            Long delta = pending.remove(postId);
+            if (delta != null && delta > 0) {
+                batch.add(new Object[]{delta, postId});
+            }
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            jdbcTemplate.batchUpdate("UPDATE post SET view_count = view_count + ? WHERE id = ?", batch);
+        } catch (RuntimeException ex) {
+            log.error("Failed to flush view counts for {} posts; re-queueing them", batch.size(), ex);
+            for (Object[] row : batch) {
+                pending.merge((Long) row[1], (Long) row[0], Long::sum);
+            }
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        flush();
+    }
+}
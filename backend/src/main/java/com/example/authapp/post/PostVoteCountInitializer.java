@@ -0,0 +1,46 @@
+package com.example.authapp.post;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Brings {@code post.vote_count} in line with the {@code post_voter} join table, so rows
+ * written before the counter existed still rank correctly in popular lists.
+ */
+@Component
+public class PostVoteCountInitializer implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(PostVoteCountInitializer.class);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public PostVoteCountInitializer(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        try {
+            int updated = jdbcTemplate.update("""
+                    UPDATE post p
+                    JOIN (
+                        SELECT p2.id AS post_id, COUNT(v.voter_id) AS votes
+                        FROM post p2
+                        LEFT JOIN post_voter v ON v.post_id = p2.id
+                        GROUP BY p2.id
+                    ) c ON c.post_id = p.id
+                    SET p.vote_count = c.votes
+                    WHERE p.vote_count <> c.votes
+                    """);
+            if (updated > 0) {
+                log.info("Backfilled vote_count for {} posts.", updated);
+            }
+        } catch (Exception ex) {
+            log.error("Failed to backfill post vote counts", ex);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.authapp.post;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Votes written straight to the {@code post_voter} join table. The (post_id, voter_id)
+ * primary key makes inserts idempotent, and {@code post.vote_count} only moves when a
+ * row was actually inserted or deleted, so concurrent clicks never double count and
+ * the voter collection is never loaded. Every change locks the {@code post} row first:
+ * the voter insert takes a shared lock on it through the foreign key, and upgrading that
+ * to the counter update's exclusive lock would deadlock two concurrent voters.
+ */
+@Component
+public class PostVoteStore {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public PostVoteStore(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Transactional
+    public VoteResult toggle(Long postId, Long userId) {
+        lockPost(postId);
+        if (removeVote(postId, userId)) {
+            return new VoteResult(false, currentCount(postId));
+        }
+        addVote(postId, userId);
+        return new VoteResult(true, currentCount(postId));
+    }
+
+    /**
+     * Sets the vote to the requested state; repeating the call changes nothing.
+     */
+    @Transactional
+    public VoteResult setVote(Long postId, Long userId, boolean voted) {
+        lockPost(postId);
+        if (voted) {
+            addVote(postId, userId);
+        } else {
+            removeVote(postId, userId);
+        }
+        return new VoteResult(voted, currentCount(postId));
+    }
+
+    /**
+     * Drops every vote cast by the user and decrements the affected posts. Post rows are
+     * updated before the voter rows are deleted, in the same order as a single vote.
+     */
+    @Transactional
+    public void removeAllVotesBy(Long userId) {
+        jdbcTemplate.update("""
+                UPDATE post p
+                JOIN post_voter pv ON pv.post_id = p.id
+                SET p.vote_count = GREATEST(p.vote_count - 1, 0)
+                WHERE pv.voter_id = ?
+                """, userId);
+        jdbcTemplate.update("DELETE FROM post_voter WHERE voter_id = ?", userId);
+    }
+
+    private void lockPost(Long postId) {
+        jdbcTemplate.queryForList("SELECT id FROM post WHERE id = ? FOR UPDATE", Long.class, postId);
+    }
+
+    private boolean addVote(Long postId, Long userId) {
+        int inserted = jdbcTemplate.update(
+                "INSERT IGNORE INTO post_voter (post_id, voter_id) VALUES (?, ?)", postId, userId);
+        if (inserted == 0) {
+            return false;
+        }
+        jdbcTemplate.update("UPDATE post SET vote_count = vote_count + 1 WHERE id = ?", postId);
+        return true;
+    }
+
+    private boolean removeVote(Long postId, Long userId) {
+        int deleted = jdbcTemplate.update(
+                "DELETE FROM post_voter WHERE post_id = ? AND voter_id = ?", postId, userId);
+        if (deleted == 0) {
+            return false;
+        }
+        jdbcTemplate.update("UPDATE post SET vote_count = GREATEST(vote_count - 1, 0) WHERE id = ?", postId);
+        return true;
+    }
+
+    private int currentCount(Long postId) {
+        Integer count = jdbcTemplate.queryForObject("SELECT vote_count FROM post WHERE id = ?", Integer.class, postId);
+        return count != null ? count : 0;
+    }
+
+    public record VoteResult(boolean voted, int voteCount) {
+    }
+}
@@ -13,8 +13,13 @@ public class TextModerationOutcome {
     private final String summary;
     private final DetectSentimentResult sentimentResult;
     private final DetectPiiEntitiesResult piiResult;
+    private final boolean failed;
 
     public TextModerationOutcome(boolean shouldNotify, boolean piiDetected, boolean piiScanAttempted, double negativeScore, String summary, DetectSentimentResult sentimentResult, DetectPiiEntitiesResult piiResult) {
+        this(shouldNotify, piiDetected, piiScanAttempted, negativeScore, summary, sentimentResult, piiResult, false);
+    }
+
+    private TextModerationOutcome(boolean shouldNotify, boolean piiDetected, boolean piiScanAttempted, double negativeScore, String summary, DetectSentimentResult sentimentResult, DetectPiiEntitiesResult piiResult, boolean failed) {
         this.shouldNotify = shouldNotify;
         this.piiDetected = piiDetected;
         this.piiScanAttempted = piiScanAttempted;
@@ -22,6 +27,19 @@ public class TextModerationOutcome {
         this.summary = summary;
         this.sentimentResult = sentimentResult;
         this.piiResult = piiResult;
+        this.failed = failed;
+    }
+
+    /**
+     * Outcome for text whose Comprehend call failed. It carries no verdict: callers that
+     * persist verdicts must leave the content pending so it is retried.
+     */
+    public static TextModerationOutcome failed() {
+        return new TextModerationOutcome(false, false, false, 0.0, "Error", null, null, true);
+    }
+
+    public boolean isFailed() {
+        return failed;
     }
 
     public boolean shouldNotify() {
@@ -2,9 +2,11 @@ package com.example.authapp.post.api;
 
 import com.example.authapp.comment.CommentRepository;
 import com.example.authapp.comment.CommentStatus;
+import com.example.authapp.comment.PostCommentCount;
 import com.example.authapp.common.api.PageResponse;
 import com.example.authapp.post.Post;
 import com.example.authapp.post.PostService;
+import com.example.authapp.post.PostVoteStore;
 import com.example.authapp.post.dto.CommentResponse;
 import com.example.authapp.post.dto.GalleryCardResponse;
 import com.example.authapp.post.dto.GalleryDetailResponse;
@@ -39,6 +41,7 @@ import javax.validation.Valid;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @RestController
@@ -83,9 +86,10 @@ public class GalleryRestController {
                 size
         );
         var pageResult = postService.getGalleryPosts(query);
-        List<CommentStatus> visibleAndBlocked = List.of(CommentStatus.VISIBLE, CommentStatus.BLOCKED);
-        var cards = pageResult.stream()
-                .map(post -> GalleryCardResponse.from(post, commentRepository.countByPostIdAndStatusIn(post.getId(), visibleAndBlocked)))
+        List<Post> posts = pageResult.getContent();
+        Map<Long, Long> commentCounts = countComments(posts, List.of(CommentStatus.VISIBLE, CommentStatus.BLOCKED));
+        var cards = posts.stream()
+                .map(post -> GalleryCardResponse.from(post, commentCounts.getOrDefault(post.getId(), 0L)))
                 .toList();
         return PageResponse.of(pageResult, cards);
     }
@@ -213,21 +217,34 @@ public class GalleryRestController {
 
     @PreAuthorize("isAuthenticated()")
     @PostMapping("/{id}/vote")
-    public ResponseEntity<Void> vote(@AuthenticationPrincipal UserDetails userDetails,
-                                     @PathVariable Long id) {
+    public ResponseEntity<PostVoteStore.VoteResult> vote(@AuthenticationPrincipal UserDetails userDetails,
+                                                         @PathVariable Long id) {
         Post post = postService.getPostForEdit(id);
         User user = userService.findByUsername(userDetails.getUsername());
-        postService.vote(post, user);
-        return ResponseEntity.ok().build();
+        return ResponseEntity.ok(postService.vote(post, user));
     }
 
     @GetMapping("/popular")
     public List<GalleryCardResponse> popular(@RequestParam(value = "size", defaultValue = "8") int size) {
-        return postService.getPopularGalleryPosts(size).stream()
-                .map(post -> GalleryCardResponse.from(post, commentRepository.countByPostIdAndStatus(post.getId(), CommentStatus.VISIBLE)))
+        List<Post> posts = postService.getPopularGalleryPosts(size);
+        Map<Long, Long> commentCounts = countComments(posts, List.of(CommentStatus.VISIBLE));
+        return posts.stream()
+                .map(post -> GalleryCardResponse.from(post, commentCounts.getOrDefault(post.getId(), 0L)))
                 .toList();
     }
 
+    /**
+     * Counts comments for a whole page of posts in one grouped query.
+     */
+    private Map<Long, Long> countComments(List<Post> posts, List<CommentStatus> statuses) {
+        if (posts.isEmpty()) {
+            return Map.of();
+        }
+        List<Long> postIds = posts.stream().map(Post::getId).toList();
+        return commentRepository.countByPostIdInAndStatusIn(postIds, statuses).stream()
+                .collect(Collectors.toMap(PostCommentCount::postId, PostCommentCount::count));
+    }
+
     private boolean hasLiked(Post post, String username) {
         if (post.getVoter() == null) {
             return false;
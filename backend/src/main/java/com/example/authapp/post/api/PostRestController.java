@@ -4,6 +4,7 @@ import com.example.authapp.comment.CommentRepository;
 import com.example.authapp.common.api.PageResponse;
 import com.example.authapp.post.Post;
 import com.example.authapp.post.PostService;
+import com.example.authapp.post.PostVoteStore;
 import com.example.authapp.post.dto.CommentResponse;
 import com.example.authapp.post.dto.PostDetailResponse;
 import com.example.authapp.post.dto.PostRequest;
@@ -144,12 +145,29 @@ public class PostRestController {
 
     @PreAuthorize("isAuthenticated()")
     @PostMapping("/{id}/vote")
-    public ResponseEntity<Void> vote(@AuthenticationPrincipal UserDetails userDetails,
-                                     @PathVariable Long id) {
+    public ResponseEntity<PostVoteStore.VoteResult> vote(@AuthenticationPrincipal UserDetails userDetails,
+                                                         @PathVariable Long id) {
         Post post = postService.getPostForEdit(id);
         User user = userService.findByUsername(userDetails.getUsername());
-        postService.vote(post, user);
-        return ResponseEntity.ok().build();
+        return ResponseEntity.ok(postService.vote(post, user));
+    }
+
+    @PreAuthorize("isAuthenticated()")
+    @PutMapping("/{id}/vote")
+    public ResponseEntity<PostVoteStore.VoteResult> addVote(@AuthenticationPrincipal UserDetails userDetails,
+                                                            @PathVariable Long id) {
+        Post post = postService.getPostForEdit(id);
+        User user = userService.findByUsername(userDetails.getUsername());
+        return ResponseEntity.ok(postService.setVote(post, user, true));
+    }
+
+    @PreAuthorize("isAuthenticated()")
+    @DeleteMapping("/{id}/vote")
+    public ResponseEntity<PostVoteStore.VoteResult> removeVote(@AuthenticationPrincipal UserDetails userDetails,
+                                                               @PathVariable Long id) {
+        Post post = postService.getPostForEdit(id);
+        User user = userService.findByUsername(userDetails.getUsername());
+        return ResponseEntity.ok(postService.setVote(post, user, false));
     }
 
     private org.springframework.data.domain.Page<Post> resolveBoardPage(String subBoardName,
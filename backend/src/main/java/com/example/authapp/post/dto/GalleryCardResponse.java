@@ -28,7 +28,7 @@ public record GalleryCardResponse(
                 post.getMainBoardName(),
                 post.getSubBoardName(),
                 post.getCreateDate(),
-                post.getVoter() != null ? post.getVoter().size() : 0,
+                post.getVoteCount(),
                 commentCount,
                 buildThumbnails(post.getFileUrls())
         );
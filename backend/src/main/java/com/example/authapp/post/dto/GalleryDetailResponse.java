@@ -37,7 +37,7 @@ public record GalleryDetailResponse(
                 post.getSubBoardName(),
                 post.getCreateDate(),
                 post.getViewCount(),
-                post.getVoter() != null ? post.getVoter().size() : 0,
+                post.getVoteCount(),
                 commentCount,
                 List.copyOf(post.getFileUrls()),
                 comments,
@@ -38,7 +38,7 @@ public record PostDetailResponse(
                 post.getTabItem(),
                 post.getCreateDate(),
                 post.getViewCount(),
-                post.getVoter() != null ? post.getVoter().size() : 0,
+                post.getVoteCount(),
                 post.isBlocked(),
                 post.isHarmful(),
                 post.getModerationStatus(),
@@ -37,7 +37,7 @@ public record PostSummaryResponse(
                 post.getTabItem(),
                 post.getCreateDate(),
                 post.getViewCount(),
-                post.getVoter() != null ? post.getVoter().size() : 0,
+                post.getVoteCount(),
                 post.isBlocked(),
                 post.isHarmful(),
                 post.getModerationStatus(),
@@ -1,11 +1,22 @@
 package com.example.authapp.s3;
 
+import com.amazonaws.services.s3.model.PartETag;
+import com.example.authapp.media.MediaAssetService;
+import com.example.authapp.post.PostModerationPipeline;
+import com.example.authapp.s3.dto.AbortMultipartRequest;
+import com.example.authapp.s3.dto.CompleteMultipartRequest;
+import com.example.authapp.s3.dto.CompleteUploadRequest;
 import com.example.authapp.s3.dto.DeleteMediaRequest;
+import com.example.authapp.s3.dto.MultipartUploadRequest;
+import com.example.authapp.s3.dto.MultipartUploadResponse;
 import com.example.authapp.s3.dto.PresignedUploadRequest;
 import com.example.authapp.s3.dto.PresignedUploadResponse;
 import com.example.authapp.s3.dto.UploadMediaResponse;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -13,9 +24,11 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
 
 import javax.validation.Valid;
 import java.io.IOException;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/media")
@@ -23,16 +36,89 @@ import java.io.IOException;
 public class MediaController {
 
     private final S3Service s3Service;
+    private final PostModerationPipeline postModerationPipeline;
+    private final MediaAssetService mediaAssetService;
 
-    public MediaController(S3Service s3Service) {
+    public MediaController(S3Service s3Service,
+                           PostModerationPipeline postModerationPipeline,
+                           MediaAssetService mediaAssetService) {
         this.s3Service = s3Service;
+        this.postModerationPipeline = postModerationPipeline;
+        this.mediaAssetService = mediaAssetService;
     }
 
     @PreAuthorize("isAuthenticated()")
     @PostMapping("/presigned")
-    public ResponseEntity<PresignedUploadResponse> createPresignedUpload(@Valid @RequestBody PresignedUploadRequest request) {
-        S3Service.PresignedUpload presigned = s3Service.generatePresignedUpload(request.directory(), request.contentType());
-        return ResponseEntity.ok(PresignedUploadResponse.from(presigned));
+    public ResponseEntity<PresignedUploadResponse> createPresignedUpload(@AuthenticationPrincipal UserDetails userDetails,
+                                                                         @Valid @RequestBody PresignedUploadRequest request) {
+        try {
+            S3Service.PresignedUpload presigned = s3Service.generatePresignedUpload(
+                    request.directory(), request.contentType(), userDetails.getUsername());
+            return ResponseEntity.ok(PresignedUploadResponse.from(presigned));
+        } catch (IllegalArgumentException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ex.getMessage());
+        }
+    }
+
+    @PreAuthorize("isAuthenticated()")
+    @PostMapping("/multipart")
+    public ResponseEntity<MultipartUploadResponse> createMultipartUpload(@AuthenticationPrincipal UserDetails userDetails,
+                                                                         @Valid @RequestBody MultipartUploadRequest request) {
+        try {
+            S3Service.PresignedMultipartUpload upload = s3Service.generatePresignedMultipartUpload(
+                    request.directory(), request.contentType(), request.size(), userDetails.getUsername());
+            return ResponseEntity.ok(MultipartUploadResponse.from(upload));
+        } catch (IllegalArgumentException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ex.getMessage());
+        }
+    }
+
+    @PreAuthorize("isAuthenticated()")
+    @PostMapping("/multipart/complete")
+    public ResponseEntity<UploadMediaResponse> completeMultipartUpload(@AuthenticationPrincipal UserDetails userDetails,
+                                                                       @Valid @RequestBody CompleteMultipartRequest request) {
+        requireUploader(request.key(), userDetails);
+        List<PartETag> partETags = request.parts().stream()
+                .map(part -> new PartETag(part.partNumber(), part.etag()))
+                .toList();
+        try {
+            S3Service.UploadResult result = s3Service.completePresignedMultipartUpload(request.key(), request.uploadId(), partETags);
+            postModerationPipeline.prescanUpload(result.publicUrl(), result.contentType());
+            return ResponseEntity.ok(UploadMediaResponse.from(result));
+        } catch (IllegalArgumentException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ex.getMessage());
+        }
+    }
+
+    @PreAuthorize("isAuthenticated()")
+    @PostMapping("/multipart/abort")
+    public ResponseEntity<Void> abortMultipartUpload(@AuthenticationPrincipal UserDetails userDetails,
+                                                     @Valid @RequestBody AbortMultipartRequest request) {
+        requireUploader(request.key(), userDetails);
+        try {
+            s3Service.abortPresignedMultipartUpload(request.key(), request.uploadId());
+            return ResponseEntity.noContent().build();
+        } catch (IllegalArgumentException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ex.getMessage());
+        }
+    }
+
+    /**
+     * Called after a single presigned PUT finishes; validates the stored object before
+     * the client attaches its URL to a post.
+     */
+    @PreAuthorize("isAuthenticated()")
+    @PostMapping("/complete")
+    public ResponseEntity<UploadMediaResponse> completeUpload(@AuthenticationPrincipal UserDetails userDetails,
+                                                              @Valid @RequestBody CompleteUploadRequest request) {
+        requireUploader(request.key(), userDetails);
+        try {
+            S3Service.UploadResult result = s3Service.verifyUploadedObject(request.key());
+            postModerationPipeline.prescanUpload(result.publicUrl(), result.contentType());
+            return ResponseEntity.ok(UploadMediaResponse.from(result));
+        } catch (IllegalArgumentException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ex.getMessage());
+        }
     }
 
     @PreAuthorize("isAuthenticated()")
@@ -45,8 +131,18 @@ public class MediaController {
 
     @PreAuthorize("isAuthenticated()")
     @PostMapping("/delete")
-    public ResponseEntity<Void> deleteMedia(@Valid @RequestBody DeleteMediaRequest request) {
+    public ResponseEntity<Void> deleteMedia(@AuthenticationPrincipal UserDetails userDetails,
+                                            @Valid @RequestBody DeleteMediaRequest request) {
+        if (!mediaAssetService.mayDelete(request.key(), userDetails.getUsername())) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "파일 삭제 권한이 없습니다.");
+        }
         s3Service.deleteObject(request.key());
         return ResponseEntity.noContent().build();
     }
+
+    private void requireUploader(String key, UserDetails userDetails) {
+        if (!mediaAssetService.isUploadedBy(key, userDetails.getUsername())) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "업로드 권한이 없습니다.");
+        }
+    }
 }
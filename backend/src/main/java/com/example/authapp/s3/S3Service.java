@@ -2,17 +2,23 @@ package com.example.authapp.s3;
 
 import com.amazonaws.HttpMethod;
 import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.AbortMultipartUploadRequest;
+import com.amazonaws.services.s3.model.AmazonS3Exception;
+import com.amazonaws.services.s3.model.CompleteMultipartUploadRequest;
 import com.amazonaws.services.s3.model.GeneratePresignedUrlRequest;
-import com.amazonaws.services.s3.model.PutObjectRequest;
+import com.amazonaws.services.s3.model.InitiateMultipartUploadRequest;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.PartETag;
+import com.example.authapp.config.AppProperties;
+import com.example.authapp.media.MediaAssetService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URL;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
@@ -22,8 +28,21 @@ import java.util.*;
 public class S3Service {
 
     private static final Logger log = LoggerFactory.getLogger(S3Service.class);
+    private static final Set<String> ALLOWED_DIRECTORIES = Set.of("posts", "profile-pictures", "gallery", "videos", "notices");
+    private static final long MIN_PART_SIZE_BYTES = 5L * 1024 * 1024;
+    // Direct uploads outside notices/ are limited to the formats the moderation pipeline
+    // scans; it picks the image/video stage by key suffix, so keys keep this extension.
+    private static final Map<String, String> EXTENSIONS_BY_CONTENT_TYPE = Map.of(
+            "image/jpeg", ".jpg",
+            "image/png", ".png",
+            "video/mp4", ".mp4",
+            "video/quicktime", ".mov",
+            "video/x-msvideo", ".avi");
 
     private final AmazonS3 amazonS3Client;
+    private final S3StreamingUploader streamingUploader;
+    private final AppProperties.Upload uploadSettings;
+    private final MediaAssetService mediaAssetService;
 
     @Value("${cloud.aws.s3.bucket}")
     private String bucket;
@@ -34,8 +53,14 @@ public class S3Service {
     @Value("${cloud.aws.region.static}")
     private String region;
 
-    public S3Service(AmazonS3 amazonS3Client) {
+    public S3Service(AmazonS3 amazonS3Client,
+                     S3StreamingUploader streamingUploader,
+                     AppProperties appProperties,
+                     MediaAssetService mediaAssetService) {
         this.amazonS3Client = amazonS3Client;
+        this.streamingUploader = streamingUploader;
+        this.uploadSettings = appProperties.getUpload();
+        this.mediaAssetService = mediaAssetService;
     }
 
     public String upload(MultipartFile multipartFile, String dirName) throws IOException {
@@ -43,13 +68,26 @@ public class S3Service {
     }
 
     public UploadResult uploadWithMeta(MultipartFile multipartFile, String dirName) throws IOException {
-        if (isVideo(multipartFile)) {
-            return uploadVideo(multipartFile, dirName);
-        }
-        File uploadFile = convert(multipartFile)
-                .orElseThrow(() -> new IllegalArgumentException("MultipartFile -> File로 전환이 실패했습니다."));
+        UploadResult result = isVideo(multipartFile)
+                ? uploadVideo(multipartFile, dirName)
+                : uploadFile(multipartFile, dirName);
+        mediaAssetService.registerUpload(result.key(), result.publicUrl(), result.contentType());
+        return result;
+    }
 
-        return uploadInternal(uploadFile, multipartFile, dirName);
+    private UploadResult uploadFile(MultipartFile multipartFile, String dirName) throws IOException {
+        String key = dirName + "/" + UUID.randomUUID() + extensionOf(multipartFile.getOriginalFilename());
+        log.info("Uploading file to S3 bucket='{}', key='{}', originalName='{}', size={} bytes, contentType={}",
+                bucket, key, multipartFile.getOriginalFilename(), multipartFile.getSize(), multipartFile.getContentType());
+        ObjectMetadata metadata = new ObjectMetadata();
+        metadata.setContentType(multipartFile.getContentType());
+        long size;
+        try (InputStream inputStream = multipartFile.getInputStream()) {
+            size = streamingUploader.upload(bucket, key, inputStream, metadata);
+        }
+        String publicUrl = buildPublicUrl(key);
+        log.info("Stored file in S3 key='{}', accessibleUrl='{}'", key, publicUrl);
+        return new UploadResult(bucket, key, publicUrl, multipartFile.getContentType(), size);
     }
 
     public void deleteObject(String key) {
@@ -68,25 +106,6 @@ public class S3Service {
         return upload(multipartFile, dirName);
     }
 
-    private UploadResult uploadInternal(File uploadFile, MultipartFile originalFile, String dirName) {
-        String fileName = dirName + "/" + UUID.randomUUID() + "_" + uploadFile.getName();
-        log.info("Uploading file to S3 bucket='{}', key='{}', originalName='{}', size={} bytes, contentType={}",
-                bucket, fileName, originalFile != null ? originalFile.getOriginalFilename() : "n/a",
-                originalFile != null ? originalFile.getSize() : uploadFile.length(),
-                originalFile != null ? originalFile.getContentType() : "unknown");
-        String uploadImageUrl = putS3(uploadFile, fileName);
-        log.info("Stored file in S3 key='{}', accessibleUrl='{}'", fileName, uploadImageUrl);
-        removeNewFile(uploadFile);
-        return new UploadResult(bucket, fileName, uploadImageUrl,
-                originalFile != null ? originalFile.getContentType() : null,
-                originalFile != null ? originalFile.getSize() : uploadFile.length());
-    }
-
-    private String putS3(File uploadFile, String fileName) {
-        amazonS3Client.putObject(new PutObjectRequest(bucket, fileName, uploadFile));
-        return buildPublicUrl(fileName);
-    }
-
     /**
      * Builds candidate public URLs for an S3 object key that may have been returned to clients.
      * This mirrors the logic used when generating download URLs during upload.
@@ -117,28 +136,37 @@ public class S3Service {
         return amazonS3Client.getUrl(bucket, key).toString();
     }
 
-    private void removeNewFile(File targetFile) {
-        if (targetFile.delete()) {
-            // log.info("파일이 삭제되었습니다.");
-        } else {
-            // log.info("파일이 삭제되지 못했습니다.");
+    private String extensionOf(String originalFilename) {
+        if (originalFilename == null) {
+            return "";
         }
+        int dotIndex = originalFilename.lastIndexOf('.');
+        if (dotIndex < 0) {
+            return "";
+        }
+        String extension = originalFilename.substring(dotIndex);
+        return extension.matches("\\.[A-Za-z0-9]{1,10}") ? extension : "";
     }
 
-    private Optional<File> convert(MultipartFile file) throws IOException {
-        String originalFilename = file.getOriginalFilename();
-        String extension = "";
-        if (originalFilename != null) {
-            int dotIndex = originalFilename.lastIndexOf('.');
-            if (dotIndex >= 0) {
-                extension = originalFilename.substring(dotIndex);
-            }
+    private void requireModeratedType(String directory, String contentType) {
+        if (!"notices".equals(directory) && !isModeratedType(contentType)) {
+            throw new IllegalArgumentException("JPG, PNG 이미지 또는 MP4, MOV, AVI 동영상만 업로드할 수 있습니다.");
         }
-        File convertFile = File.createTempFile("upload_", extension);
-        try (FileOutputStream fos = new FileOutputStream(convertFile)) {
-            fos.write(file.getBytes());
+    }
+
+    private boolean isModeratedType(String contentType) {
+        return EXTENSIONS_BY_CONTENT_TYPE.containsKey(normalizeContentType(contentType));
+    }
+
+    private String extensionForContentType(String contentType) {
+        return EXTENSIONS_BY_CONTENT_TYPE.getOrDefault(normalizeContentType(contentType), "");
+    }
+
+    private static String normalizeContentType(String contentType) {
+        if (contentType == null) {
+            return "";
         }
-        return Optional.of(convertFile);
+        return contentType.split(";", 2)[0].trim().toLowerCase(Locale.ROOT);
     }
 
     private String determineDirectory(MultipartFile file) {
@@ -156,9 +184,10 @@ public class S3Service {
         return "posts";
     }
 
-    public PresignedUpload generatePresignedUpload(String directory, String contentType) {
+    public PresignedUpload generatePresignedUpload(String directory, String contentType, String uploader) {
         String sanitizedDirectory = sanitizeDirectory(directory);
-        String fileName = sanitizedDirectory + "/" + UUID.randomUUID();
+        requireModeratedType(sanitizedDirectory, contentType);
+        String fileName = sanitizedDirectory + "/" + UUID.randomUUID() + extensionForContentType(contentType);
         GeneratePresignedUrlRequest request = new GeneratePresignedUrlRequest(bucket, fileName)
                 .withMethod(HttpMethod.PUT)
                 .withExpiration(Date.from(Instant.now().plus(10, ChronoUnit.MINUTES)));
@@ -166,6 +195,7 @@ public class S3Service {
             request.addRequestParameter("Content-Type", contentType);
         }
         URL url = amazonS3Client.generatePresignedUrl(request);
+        mediaAssetService.reserveUpload(fileName, buildPublicUrl(fileName), contentType, uploader);
         return new PresignedUpload(
                 url.toString(),
                 buildPublicUrl(fileName),
@@ -174,10 +204,111 @@ public class S3Service {
         );
     }
 
+    /**
+     * Starts a multipart upload that the client sends straight to S3, one presigned
+     * PUT per part. The client finishes with {@link #completePresignedMultipartUpload}.
+     */
+    public PresignedMultipartUpload generatePresignedMultipartUpload(String directory, String contentType, long size,
+                                                                     String uploader) {
+        long maxBytes = uploadSettings.getMaxObjectSizeMb() * 1024L * 1024L;
+        if (size <= 0 || size > maxBytes) {
+            throw new IllegalArgumentException("업로드 가능한 파일 크기를 초과했습니다.");
+        }
+        String sanitizedDirectory = sanitizeDirectory(directory);
+        requireModeratedType(sanitizedDirectory, contentType);
+        String key = sanitizedDirectory + "/" + UUID.randomUUID() + extensionForContentType(contentType);
+        ObjectMetadata metadata = new ObjectMetadata();
+        if (contentType != null && !contentType.isBlank()) {
+            metadata.setContentType(contentType);
+        }
+        String uploadId = amazonS3Client.initiateMultipartUpload(
+                new InitiateMultipartUploadRequest(bucket, key, metadata)).getUploadId();
+
+        long partSize = Math.max(MIN_PART_SIZE_BYTES, uploadSettings.getPartSizeMb() * 1024L * 1024L);
+        int partCount = (int) ((size + partSize - 1) / partSize);
+        Date expiration = Date.from(Instant.now().plus(uploadSettings.getPresignExpiryMinutes(), ChronoUnit.MINUTES));
+        List<PresignedPart> parts = new ArrayList<>(partCount);
+        for (int partNumber = 1; partNumber <= partCount; partNumber++) {
+            GeneratePresignedUrlRequest request = new GeneratePresignedUrlRequest(bucket, key)
+                    .withMethod(HttpMethod.PUT)
+                    .withExpiration(expiration);
+            request.addRequestParameter("uploadId", uploadId);
+            request.addRequestParameter("partNumber", String.valueOf(partNumber));
+            parts.add(new PresignedPart(partNumber, amazonS3Client.generatePresignedUrl(request).toString()));
+        }
+        mediaAssetService.reserveUpload(key, buildPublicUrl(key), contentType, uploader);
+        return new PresignedMultipartUpload(uploadId, key, buildPublicUrl(key), partSize, parts, expiration.toInstant());
+    }
+
+    public UploadResult completePresignedMultipartUpload(String key, String uploadId, List<PartETag> partETags) {
+        requireUploadKey(key);
+        List<PartETag> ordered = new ArrayList<>(partETags);
+        ordered.sort(Comparator.comparingInt(PartETag::getPartNumber));
+        amazonS3Client.completeMultipartUpload(new CompleteMultipartUploadRequest(bucket, key, uploadId, ordered));
+        return verifyUploadedObject(key);
+    }
+
+    public void abortPresignedMultipartUpload(String key, String uploadId) {
+        requireUploadKey(key);
+        amazonS3Client.abortMultipartUpload(new AbortMultipartUploadRequest(bucket, key, uploadId));
+    }
+
+    /**
+     * Checks an object uploaded directly by a client with a HEAD request. Objects that are
+     * too large or aren't image/video media (notices may attach any file type) are deleted.
+     */
+    public UploadResult verifyUploadedObject(String key) {
+        requireUploadKey(key);
+        ObjectMetadata metadata;
+        try {
+            metadata = amazonS3Client.getObjectMetadata(bucket, key);
+        } catch (AmazonS3Exception ex) {
+            if (ex.getStatusCode() == 404) {
+                throw new IllegalArgumentException("업로드된 파일을 찾을 수 없습니다.");
+            }
+            throw ex;
+        }
+        long size = metadata.getContentLength();
+        String contentType = metadata.getContentType();
+        boolean media = isModeratedType(contentType);
+        boolean tooLarge = size > uploadSettings.getMaxObjectSizeMb() * 1024L * 1024L;
+        if (tooLarge || (!media && !key.startsWith("notices/"))) {
+            log.warn("Rejecting direct upload key='{}' size={} contentType={}", key, size, contentType);
+            deleteObject(key);
+            throw new IllegalArgumentException(tooLarge ? "업로드 가능한 파일 크기를 초과했습니다." : "이미지 또는 동영상 파일만 업로드할 수 있습니다.");
+        }
+        UploadResult result = new UploadResult(bucket, key, buildPublicUrl(key), contentType, size);
+        mediaAssetService.registerUpload(key, result.publicUrl(), contentType, metadata.getETag());
+        return result;
+    }
+
+    /**
+     * ETag of the object currently stored under {@code key}, or {@code null} if it is gone.
+     */
+    public String currentETag(String key) {
+        try {
+            return amazonS3Client.getObjectMetadata(bucket, key).getETag();
+        } catch (AmazonS3Exception ex) {
+            if (ex.getStatusCode() == 404) {
+                return null;
+            }
+            throw ex;
+        }
+    }
+
+    private void requireUploadKey(String key) {
+        if (key == null || key.isBlank() || key.contains("..")) {
+            throw new IllegalArgumentException("업로드 키가 올바르지 않습니다.");
+        }
+        int slash = key.indexOf('/');
+        if (slash <= 0 || !ALLOWED_DIRECTORIES.contains(key.substring(0, slash))) {
+            throw new IllegalArgumentException("업로드 키가 올바르지 않습니다.");
+        }
+    }
+
     private String sanitizeDirectory(String directory) {
         String normalized = (directory == null || directory.isBlank()) ? "posts" : directory.trim();
-        Set<String> allowed = Set.of("posts", "profile-pictures", "gallery", "videos", "notices");
-        if (!allowed.contains(normalized)) {
+        if (!ALLOWED_DIRECTORIES.contains(normalized)) {
             return "posts";
         }
         return normalized;
@@ -192,15 +323,17 @@ public class S3Service {
             normalizedDir += "videos/";
         }
         String key = normalizedDir + UUID.randomUUID() + "_" + multipartFile.getOriginalFilename();
-        var metadata = new com.amazonaws.services.s3.model.ObjectMetadata();
-        metadata.setContentLength(multipartFile.getSize());
+        ObjectMetadata metadata = new ObjectMetadata();
         metadata.setContentType(multipartFile.getContentType());
         metadata.getUserMetadata().put("moderation-status", "pending");
         metadata.getUserMetadata().put("job-tag", key);
-        amazonS3Client.putObject(new PutObjectRequest(bucket, key, multipartFile.getInputStream(), metadata));
+        long size;
+        try (InputStream inputStream = multipartFile.getInputStream()) {
+            size = streamingUploader.upload(bucket, key, inputStream, metadata);
+        }
         return new UploadResult(bucket, key, buildPublicUrl(key),
                 multipartFile.getContentType(),
-                multipartFile.getSize());
+                size);
     }
 
     private boolean isVideo(MultipartFile multipartFile) {
@@ -232,6 +365,22 @@ public class S3Service {
     ) {
     }
 
+    public record PresignedPart(
+            int partNumber,
+            String uploadUrl
+    ) {
+    }
+
+    public record PresignedMultipartUpload(
+            String uploadId,
+            String key,
+            String publicUrl,
+            long partSize,
+            List<PresignedPart> parts,
+            Instant expiresAt
+    ) {
+    }
+
     public record UploadResult(
             String bucket,
             String key,
@@ -0,0 +1,351 @@
+package com.example.authapp.s3;
+
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.AbortMultipartUploadRequest;
+import com.amazonaws.services.s3.model.CompleteMultipartUploadRequest;
+import com.amazonaws.services.s3.model.InitiateMultipartUploadRequest;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.PartETag;
+import com.amazonaws.services.s3.model.PutObjectRequest;
+import com.amazonaws.services.s3.model.UploadPartRequest;
+import com.example.authapp.config.AppProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Streams an upload into S3 in fixed-size parts without spooling it to a temp file.
+ * <p>
+ * The request thread reads the next part while up to
+ * {@code app.upload.parallel-parts-per-upload} earlier parts are sent on a shared part
+ * executor. A failed part is retried and, if it still fails, the multipart upload is
+ * aborted. Part buffers are pooled, so heap use is bounded by
+ * {@code max-concurrent-uploads * parallel-parts-per-upload * part-size-mb}. Callers
+ * beyond the per-node upload cap wait up to {@code app.upload.acquire-timeout-seconds}
+ * for a slot. Uploads that fit in a single part are sent as a plain PUT.
+ */
+@Component
+public class S3StreamingUploader {
+
+    private static final Logger log = LoggerFactory.getLogger(S3StreamingUploader.class);
+    private static final int MIN_PART_SIZE_MB = 5;
+
+    private final AmazonS3 amazonS3;
+    private final int partSize;
+    private final int maxConcurrentUploads;
+    private final int parallelParts;
+    private final int partMaxAttempts;
+    private final long acquireTimeoutSeconds;
+    private final Semaphore uploadSlots;
+    private final Queue<byte[]> bufferPool = new ConcurrentLinkedQueue<>();
+    private final AtomicLong bytesInFlight = new AtomicLong();
+    private final ThreadPoolExecutor partExecutor;
+    private final Timer uploadTimer;
+    private final Timer partTimer;
+    private final Counter partRetries;
+
+    public S3StreamingUploader(AmazonS3 amazonS3, AppProperties appProperties, MeterRegistry meterRegistry) {
+        this.amazonS3 = amazonS3;
+        AppProperties.Upload settings = appProperties.getUpload();
+        this.partSize = Math.max(MIN_PART_SIZE_MB, settings.getPartSizeMb()) * 1024 * 1024;
+        this.maxConcurrentUploads = Math.max(1, settings.getMaxConcurrentUploads());
+        this.parallelParts = Math.max(1, settings.getParallelPartsPerUpload());
+        this.partMaxAttempts = Math.max(1, settings.getPartMaxAttempts());
+        this.acquireTimeoutSeconds = Math.max(1, settings.getAcquireTimeoutSeconds());
+        this.uploadSlots = new Semaphore(maxConcurrentUploads, true);
+
+        int partThreads = Math.max(1, settings.getPartThreads());
+        AtomicInteger counter = new AtomicInteger();
+        // Queued parts are bounded by the buffers that can be outstanding, so the queue never overflows.
+        this.partExecutor = new ThreadPoolExecutor(
+                partThreads,
+                partThreads,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(maxConcurrentUploads * parallelParts),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "s3-part-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }
+        );
+
+        Gauge.builder("community_s3_upload_bytes_in_flight", bytesInFlight, AtomicLong::get)
+                .description("Bytes read from clients and not yet acknowledged by S3")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("community_s3_active_uploads", uploadSlots, slots -> maxConcurrentUploads - slots.availablePermits())
+                .description("Number of uploads currently streaming to S3")
+                .register(meterRegistry);
+        this.uploadTimer = Timer.builder("community_s3_upload_latency")
+                .description("Time spent streaming one object to S3")
+                .register(meterRegistry);
+        this.partTimer = Timer.builder("community_s3_part_upload_latency")
+                .description("Time spent sending one multipart part to S3, including retries")
+                .tag("part_size_mb", String.valueOf(partSize / (1024 * 1024)))
+                .register(meterRegistry);
+        this.partRetries = Counter.builder("community_s3_part_retries")
+                .description("Number of multipart part uploads that were retried")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Uploads the stream under {@code bucket/key} and returns the number of bytes written.
+     * The stream is read to the end but not closed.
+     */
+    public long upload(String bucket, String key, InputStream inputStream, ObjectMetadata metadata) throws IOException {
+        acquireSlot(key);
+        Timer.Sample sample = Timer.start();
+        try {
+            byte[] first = borrowBuffer();
+            int filled;
+            try {
+                filled = readFully(inputStream, first);
+            } catch (IOException | RuntimeException ex) {
+                bufferPool.offer(first);
+                throw ex;
+            }
+            if (filled < first.length) {
+                try {
+                    putSingle(bucket, key, first, filled, metadata);
+                    return filled;
+                } finally {
+                    bufferPool.offer(first);
+                }
+            }
+            return uploadMultipart(bucket, key, inputStream, first, metadata);
+        } finally {
+            sample.stop(uploadTimer);
+            uploadSlots.release();
+        }
+    }
+
+    private void putSingle(String bucket, String key, byte[] buffer, int length, ObjectMetadata metadata) {
+        ObjectMetadata objectMetadata = metadata.clone();
+        objectMetadata.setContentLength(length);
+        bytesInFlight.addAndGet(length);
+        try {
+            amazonS3.putObject(new PutObjectRequest(bucket, key, new ByteArrayInputStream(buffer, 0, length), objectMetadata));
+        } finally {
+            bytesInFlight.addAndGet(-length);
+        }
+    }
+
+    private long uploadMultipart(String bucket,
+                                 String key,
+                                 InputStream inputStream,
+                                 byte[] firstPart,
+                                 ObjectMetadata metadata) throws IOException {
+        String uploadId;
+        try {
+            uploadId = amazonS3.initiateMultipartUpload(
+                    new InitiateMultipartUploadRequest(bucket, key, withoutLength(metadata))).getUploadId();
+        } catch (RuntimeException ex) {
+            bufferPool.offer(firstPart);
+            throw ex;
+        }
+
+        Semaphore partSlots = new Semaphore(parallelParts);
+        List<CompletableFuture<PartETag>> parts = new ArrayList<>();
+        long total = 0;
+        try {
+            partSlots.acquire();
+            parts.add(submitPart(bucket, key, uploadId, 1, firstPart, firstPart.length, partSlots));
+            total += firstPart.length;
+
+            int partNumber = 2;
+            while (true) {
+                partSlots.acquire();
+                if (parts.stream().anyMatch(CompletableFuture::isCompletedExceptionally)) {
+                    partSlots.release();
+                    break;
+                }
+                byte[] buffer = borrowBuffer();
+                int filled;
+                try {
+                    filled = readFully(inputStream, buffer);
+                } catch (IOException | RuntimeException ex) {
+                    bufferPool.offer(buffer);
+                    partSlots.release();
+                    throw ex;
+                }
+                if (filled == 0) {
+                    bufferPool.offer(buffer);
+                    partSlots.release();
+                    break;
+                }
+                parts.add(submitPart(bucket, key, uploadId, partNumber++, buffer, filled, partSlots));
+                total += filled;
+                if (filled < buffer.length) {
+                    break;
+                }
+            }
+
+            List<PartETag> partETags = new ArrayList<>(parts.size());
+            for (CompletableFuture<PartETag> part : parts) {
+                partETags.add(part.join());
+            }
+            partETags.sort(Comparator.comparingInt(PartETag::getPartNumber));
+            amazonS3.completeMultipartUpload(new CompleteMultipartUploadRequest(bucket, key, uploadId, partETags));
+            log.debug("Completed multipart upload key={} parts={} bytes={}", key, partETags.size(), total);
+            return total;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            abort(bucket, key, uploadId, parts);
+            throw new IOException("업로드 중 인터럽트되었습니다.", e);
+        } catch (CompletionException ex) {
+            abort(bucket, key, uploadId, parts);
+            Throwable cause = ex.getCause() != null ? ex.getCause() : ex;
+            throw new IOException("S3 파트 업로드에 실패했습니다. key=" + key, cause);
+        } catch (IOException | RuntimeException ex) {
+            abort(bucket, key, uploadId, parts);
+            throw ex;
+        }
+    }
+
+    private CompletableFuture<PartETag> submitPart(String bucket,
+                                                   String key,
+                                                   String uploadId,
+                                                   int partNumber,
+                                                   byte[] buffer,
+                                                   int length,
+                                                   Semaphore partSlots) {
+        bytesInFlight.addAndGet(length);
+        CompletableFuture<PartETag> future;
+        try {
+            future = CompletableFuture.supplyAsync(
+                    () -> partTimer.record(() -> uploadPartWithRetry(bucket, key, uploadId, partNumber, buffer, length)),
+                    partExecutor);
+        } catch (RuntimeException ex) {
+            bytesInFlight.addAndGet(-length);
+            bufferPool.offer(buffer);
+            partSlots.release();
+            throw ex;
+        }
+        return future.whenComplete((etag, error) -> {
+            bytesInFlight.addAndGet(-length);
+            bufferPool.offer(buffer);
+            partSlots.release();
+        });
+    }
+
+    private PartETag uploadPartWithRetry(String bucket, String key, String uploadId, int partNumber, byte[] buffer, int length) {
+        RuntimeException last = null;
+        for (int attempt = 1; attempt <= partMaxAttempts; attempt++) {
+            try {
+                return amazonS3.uploadPart(new UploadPartRequest()
+                        .withBucketName(bucket)
+                        .withKey(key)
+                        .withUploadId(uploadId)
+                        .withPartNumber(partNumber)
+                        .withPartSize(length)
+                        .withInputStream(new ByteArrayInputStream(buffer, 0, length))).getPartETag();
+            } catch (RuntimeException ex) {
+                last = ex;
+                if (attempt < partMaxAttempts) {
+                    partRetries.increment();
+                    log.warn("Retrying S3 part upload key={} part={} attempt={}: {}", key, partNumber, attempt, ex.getMessage());
+                    sleepBeforeRetry(attempt);
+                }
+            }
+        }
+        throw last;
+    }
+
+    private void sleepBeforeRetry(int attempt) {
+        try {
+            Thread.sleep(200L * attempt);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void abort(String bucket, String key, String uploadId, List<CompletableFuture<PartETag>> parts) {
+        // Let in-flight parts finish first so their buffers go back to the pool and S3 doesn't keep orphaned parts.
+        for (CompletableFuture<PartETag> part : parts) {
+            try {
+                part.join();
+            } catch (RuntimeException ignored) {
+                // already reported through the failing part
+            }
+        }
+        try {
+            amazonS3.abortMultipartUpload(new AbortMultipartUploadRequest(bucket, key, uploadId));
+        } catch (RuntimeException ex) {
+            log.warn("Failed to abort multipart upload key={} uploadId={}: {}", key, uploadId, ex.getMessage());
+        }
+    }
+
+    private ObjectMetadata withoutLength(ObjectMetadata metadata) {
+        ObjectMetadata copy = new ObjectMetadata();
+        if (metadata.getContentType() != null) {
+            copy.setContentType(metadata.getContentType());
+        }
+        copy.setUserMetadata(metadata.getUserMetadata());
+        return copy;
+    }
+
+    private void acquireSlot(String key) throws IOException {
+        try {
+            if (!uploadSlots.tryAcquire(acquireTimeoutSeconds, TimeUnit.SECONDS)) {
+                throw new IOException("업로드 대기열이 가득 찼습니다. 잠시 후 다시 시도해주세요. key=" + key);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("업로드 대기 중 인터럽트되었습니다.", e);
+        }
+    }
+
+    private byte[] borrowBuffer() {
+        byte[] buffer = bufferPool.poll();
+        return buffer != null ? buffer : new byte[partSize];
+    }
+
+    private static int readFully(InputStream inputStream, byte[] buffer) throws IOException {
+        int offset = 0;
+        while (offset < buffer.length) {
+            int read = inputStream.read(buffer, offset, buffer.length - offset);
+            if (read < 0) {
+                break;
+            }
+            offset += read;
+        }
+        return offset;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        partExecutor.shutdown();
+        try {
+            if (!partExecutor.awaitTermination(30, TimeUnit.SECONDS)) {
+                log.warn("S3 part uploads did not finish before shutdown.");
+                partExecutor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            partExecutor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.authapp.s3.dto;
+
+import javax.validation.constraints.NotBlank;
+
+public record AbortMultipartRequest(
+        @NotBlank
+        String key,
+
+        @NotBlank
+        String uploadId
+) {
+}
@@ -0,0 +1,28 @@
+package com.example.authapp.s3.dto;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Positive;
+import java.util.List;
+
+public record CompleteMultipartRequest(
+        @NotBlank
+        String key,
+
+        @NotBlank
+        String uploadId,
+
+        @NotEmpty
+        List<@Valid Part> parts
+) {
+
+    public record Part(
+            @Positive
+            int partNumber,
+
+            @NotBlank
+            String etag
+    ) {
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.authapp.s3.dto;
+
+import javax.validation.constraints.NotBlank;
+
+public record CompleteUploadRequest(
+        @NotBlank
+        String key
+) {
+}
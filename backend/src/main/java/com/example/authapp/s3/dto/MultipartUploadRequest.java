@@ -0,0 +1,15 @@
+package com.example.authapp.s3.dto;
+
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.Positive;
+
+public record MultipartUploadRequest(
+        @NotBlank(message = "업로드 디렉터리를 입력하세요.")
+        String directory,
+
+        String contentType,
+
+        @Positive(message = "파일 크기를 입력하세요.")
+        long size
+) {
+}
@@ -0,0 +1,30 @@
+package com.example.authapp.s3.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+public record MultipartUploadResponse(
+        String uploadId,
+        String key,
+        String publicUrl,
+        long partSize,
+        List<Part> parts,
+        Instant expiresAt
+) {
+
+    public static MultipartUploadResponse from(com.example.authapp.s3.S3Service.PresignedMultipartUpload upload) {
+        return new MultipartUploadResponse(
+                upload.uploadId(),
+                upload.key(),
+                upload.publicUrl(),
+                upload.partSize(),
+                upload.parts().stream()
+                        .map(part -> new Part(part.partNumber(), part.uploadUrl()))
+                        .toList(),
+                upload.expiresAt()
+        );
+    }
+
+    public record Part(int partNumber, String uploadUrl) {
+    }
+}
@@ -2,6 +2,7 @@ package com.example.authapp.service;
 
 import com.example.authapp.admin.AdminReviewItemRepository;
 import com.example.authapp.admin.AwsService;
+import com.example.authapp.admin.MetricHistory;
 import com.example.authapp.admin.MonitoringMetricsDto;
 import com.example.authapp.admin.MonitoringService;
 import com.example.authapp.admin.S3ObjectDto;
@@ -13,8 +14,16 @@ import com.example.authapp.service.dto.DetectionCount;
 import com.example.authapp.service.dto.SystemMetricPoint;
 import com.example.authapp.user.UserRepository;
 import com.example.authapp.user.UserStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import javax.annotation.PreDestroy;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
@@ -23,47 +32,166 @@ import java.util.Comparator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
+/**
+ * Builds the admin dashboard. Each section (counts, aggregations, monitoring, S3 listing)
+ * runs concurrently with its own deadline; a section that fails or times out keeps its
+ * value from the previous build and is listed in {@code staleSections}. The result is kept
+ * as a short-lived snapshot and concurrent refreshes wait for the same build.
+ */
 @Service
 public class AdminDashboardService {
 
+    private static final Logger log = LoggerFactory.getLogger(AdminDashboardService.class);
+    private static final MonitoringMetricsDto UNKNOWN_METRICS =
+            new MonitoringMetricsDto(0, 0, 0, 0, 0, "UNKNOWN", "UNKNOWN");
+
     private final UserRepository userRepository;
     private final PostRepository postRepository;
     private final MonitoringService monitoringService;
     private final AwsService awsService;
     private final AdminReviewItemRepository adminReviewItemRepository;
+    private final MetricHistory metricHistory;
+    private final ThreadPoolExecutor sectionExecutor;
+    private final MeterRegistry meterRegistry;
+    private final Timer buildLatency;
+    private final long snapshotTtlNanos;
+    private final long sectionTimeoutNanos;
+
+    private volatile Snapshot snapshot;
+    private CompletableFuture<AdminDashboardData> inFlight;
 
     public AdminDashboardService(UserRepository userRepository,
                                  PostRepository postRepository,
                                  MonitoringService monitoringService,
                                  AwsService awsService,
-                                 AdminReviewItemRepository adminReviewItemRepository) {
+                                 AdminReviewItemRepository adminReviewItemRepository,
+                                 MetricHistory metricHistory,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${app.admin.dashboard-threads:6}") int dashboardThreads,
+                                 @Value("${app.admin.dashboard-section-timeout-ms:3000}") long sectionTimeoutMs,
+                                 @Value("${app.admin.dashboard-snapshot-ttl-ms:10000}") long snapshotTtlMs) {
         this.userRepository = userRepository;
         this.postRepository = postRepository;
         this.monitoringService = monitoringService;
         this.awsService = awsService;
         this.adminReviewItemRepository = adminReviewItemRepository;
+        this.metricHistory = metricHistory;
+        this.meterRegistry = meterRegistry;
+        this.snapshotTtlNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, snapshotTtlMs));
+        this.sectionTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(100, sectionTimeoutMs));
+
+        int threads = Math.max(1, dashboardThreads);
+        AtomicInteger counter = new AtomicInteger();
+        this.sectionExecutor = new ThreadPoolExecutor(
+                threads,
+                threads,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(threads * 4),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "admin-dashboard-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy()
+        );
+        this.buildLatency = Timer.builder("community_admin_dashboard_build_latency")
+                .description("Time to build the admin dashboard snapshot")
+                .register(meterRegistry);
     }
 
     public AdminDashboardData fetchDashboardData() {
-        long totalUsers = userRepository.count();
-        long activeUsers = userRepository.countByStatus(UserStatus.ACTIVE);
-        long blockedUsers = userRepository.countByStatus(UserStatus.BLOCKED);
-        long harmfulPosts = adminReviewItemRepository.countByInappropriateDetectedTrue();
+        Snapshot current = snapshot;
+        if (isFresh(current)) {
+            return current.data();
+        }
+
+        CompletableFuture<AdminDashboardData> build;
+        boolean owner = false;
+        synchronized (this) {
+            current = snapshot;
+            if (isFresh(current)) {
+                return current.data();
+            }
+            build = inFlight;
+            if (build == null) {
+                build = new CompletableFuture<>();
+                inFlight = build;
+                owner = true;
+            }
+        }
 
+        if (owner) {
+            AdminDashboardData previous = current != null ? current.data() : null;
+            try {
+                AdminDashboardData data = buildLatency.record(() -> build(previous));
+                snapshot = new Snapshot(data, System.nanoTime());
+                build.complete(data);
+            } catch (RuntimeException ex) {
+                build.completeExceptionally(ex);
+                throw ex;
+            } finally {
+                synchronized (this) {
+                    inFlight = null;
+                }
+            }
+        }
+        return build.join();
+    }
+
+    private boolean isFresh(Snapshot current) {
+        return current != null && System.nanoTime() - current.builtAtNanos() < snapshotTtlNanos;
+    }
+
+    private AdminDashboardData build(AdminDashboardData previous) {
         LocalDate today = LocalDate.now();
         LocalDateTime start = today.minusDays(6).atStartOfDay();
         LocalDateTime end = today.plusDays(1).atStartOfDay();
-        List<DailySignupStats> rawSignups = userRepository.countDailySignups(start, end);
-        List<DailySignupStats> dailySignups = fillMissingDates(rawSignups, today.minusDays(6), today);
 
-        List<CategoryDistribution> categoryDistribution = postRepository.countPostsByMainBoard();
-        List<DetectionCount> detectionCounts = ensureDetectionBuckets(postRepository.countHarmfulBreakdown());
+        CompletableFuture<Long> totalUsersFuture = section(userRepository::count);
+        CompletableFuture<Long> activeUsersFuture = section(() -> userRepository.countByStatus(UserStatus.ACTIVE));
+        CompletableFuture<Long> blockedUsersFuture = section(() -> userRepository.countByStatus(UserStatus.BLOCKED));
+        CompletableFuture<Long> harmfulPostsFuture = section(adminReviewItemRepository::countByInappropriateDetectedTrue);
+        CompletableFuture<List<DailySignupStats>> dailySignupsFuture = section(() ->
+                fillMissingDates(userRepository.countDailySignups(start, end), today.minusDays(6), today));
+        CompletableFuture<List<CategoryDistribution>> categoriesFuture = section(postRepository::countPostsByMainBoard);
+        CompletableFuture<List<DetectionCount>> detectionsFuture = section(() ->
+                ensureDetectionBuckets(postRepository.countHarmfulBreakdown()));
+        CompletableFuture<MonitoringMetricsDto> metricsFuture = section(monitoringService::getCurrentMetrics);
+        CompletableFuture<List<S3ObjectDto>> s3ObjectsFuture = section(this::safeListBucketObjects);
 
-        MonitoringMetricsDto latestMetrics = monitoringService.getCurrentMetrics();
-        List<SystemMetricPoint> metricSeries = buildSystemMetricSeries(latestMetrics);
-        List<S3ObjectDto> s3Objects = safeListBucketObjects();
+        long deadline = System.nanoTime() + sectionTimeoutNanos;
+        List<String> stale = new ArrayList<>();
+        long totalUsers = await("total_users", totalUsersFuture, deadline, stale,
+                previous != null ? previous.totalUsers() : 0L);
+        long activeUsers = await("active_users", activeUsersFuture, deadline, stale,
+                previous != null ? previous.activeUsers() : 0L);
+        long blockedUsers = await("blocked_users", blockedUsersFuture, deadline, stale,
+                previous != null ? previous.blockedUsers() : 0L);
+        long harmfulPosts = await("harmful_posts", harmfulPostsFuture, deadline, stale,
+                previous != null ? previous.harmfulPosts() : 0L);
+        List<DailySignupStats> dailySignups = await("daily_signups", dailySignupsFuture, deadline, stale,
+                previous != null ? previous.dailySignups() : List.of());
+        List<CategoryDistribution> categoryDistribution = await("categories", categoriesFuture, deadline, stale,
+                previous != null ? previous.categoryDistribution() : List.of());
+        List<DetectionCount> detectionCounts = await("detections", detectionsFuture, deadline, stale,
+                previous != null ? previous.detectionCounts() : ensureDetectionBuckets(List.of()));
+        MonitoringMetricsDto latestMetrics = await("monitoring", metricsFuture, deadline, stale,
+                previous != null ? previous.latestMetrics() : UNKNOWN_METRICS);
+        List<S3ObjectDto> s3Objects = await("s3_objects", s3ObjectsFuture, deadline, stale,
+                previous != null ? previous.s3Objects() : List.of());
+        List<SystemMetricPoint> metricSeries = metricHistory.view(Duration.ofHours(1), 60);
+        List<SystemMetricPoint> metricSeriesDay = metricHistory.view(Duration.ofHours(24), 96);
 
         return new AdminDashboardData(
                 totalUsers,
@@ -74,11 +202,37 @@ public class AdminDashboardService {
                 categoryDistribution,
                 detectionCounts,
                 metricSeries,
+                metricSeriesDay,
                 latestMetrics,
-                s3Objects
+                s3Objects,
+                List.copyOf(stale)
         );
     }
 
+    private <T> CompletableFuture<T> section(Supplier<T> supplier) {
+        return CompletableFuture.supplyAsync(supplier, sectionExecutor);
+    }
+
+    private <T> T await(String section, CompletableFuture<T> future, long deadlineNanos, List<String> stale, T fallback) {
+        try {
+            return future.get(Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException ex) {
+            future.cancel(true);
+            log.warn("Dashboard section '{}' timed out; using previous value", section);
+        } catch (ExecutionException ex) {
+            log.warn("Dashboard section '{}' failed; using previous value: {}", section, ex.getCause() != null ? ex.getCause().getMessage() : ex.getMessage());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        Counter.builder("community_admin_dashboard_section_failures")
+                .description("Dashboard sections served from the previous build")
+                .tag("section", section)
+                .register(meterRegistry)
+                .increment();
+        stale.add(section);
+        return fallback;
+    }
+
     private List<DailySignupStats> fillMissingDates(List<DailySignupStats> raw,
                                                     LocalDate from,
                                                     LocalDate to) {
@@ -108,48 +262,6 @@ public class AdminDashboardService {
                 .collect(Collectors.toList());
     }
 
-    private List<SystemMetricPoint> buildSystemMetricSeries(MonitoringMetricsDto metrics) {
-        List<SystemMetricPoint> points = new ArrayList<>();
-        LocalDateTime now = LocalDateTime.now();
-
-        double baseCpu = metrics.cpuUsage();
-        double baseMemoryMb = metrics.memoryUsageBytes() / (1024.0 * 1024.0);
-        double baseRequests = metrics.requestCount();
-        double baseError = metrics.errorRate();
-
-        for (int i = 4; i >= 0; i--) {
-            double cpuFactor = 1 - (i * 0.05);
-            double memFactor = 1 - (i * 0.04);
-            double reqFactor = 1 - (i * 0.08);
-            double errorFactor = 1 + (i * 0.06);
-
-            double cpuPercent = percentClamp(baseCpu * cpuFactor);
-            double memoryMb = Math.max(baseMemoryMb * memFactor, 0);
-            double requests = Math.max(baseRequests * reqFactor, 0);
-            double errorPercent = percentClamp(baseError * errorFactor);
-
-            points.add(new SystemMetricPoint(
-                    now.minusMinutes(i * 5L),
-                    cpuPercent,
-                    memoryMb,
-                    requests,
-                    errorPercent
-            ));
-        }
-        return points;
-    }
-
-    private double percentClamp(double ratio) {
-        double percent = ratio * 100;
-        if (percent < 0) {
-            return 0;
-        }
-        if (percent > 100) {
-            return 100;
-        }
-        return percent;
-    }
-
     private List<S3ObjectDto> safeListBucketObjects() {
         try {
             return awsService.listBucketObjects();
@@ -157,4 +269,12 @@ public class AdminDashboardService {
             return List.of();
         }
     }
+
+    @PreDestroy
+    void shutdown() {
+        sectionExecutor.shutdownNow();
+    }
+
+    private record Snapshot(AdminDashboardData data, long builtAtNanos) {
+    }
 }
@@ -14,7 +14,9 @@ public record AdminDashboardData(
         List<CategoryDistribution> categoryDistribution,
         List<DetectionCount> detectionCounts,
         List<SystemMetricPoint> systemMetrics,
+        List<SystemMetricPoint> systemMetricsDay,
         MonitoringMetricsDto latestMetrics,
-        List<S3ObjectDto> s3Objects
+        List<S3ObjectDto> s3Objects,
+        List<String> staleSections
 ) {
 }
@@ -8,6 +8,8 @@ import com.amazonaws.regions.Regions;
 import com.amazonaws.services.cognitoidp.AWSCognitoIdentityProvider;
 import com.amazonaws.services.cognitoidp.AWSCognitoIdentityProviderClientBuilder;
 import com.amazonaws.services.cognitoidp.model.*;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -15,6 +17,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 
 import javax.annotation.PostConstruct;
+import java.time.Duration;
 
 @Service
 public class CognitoService {
@@ -39,8 +42,14 @@ public class CognitoService {
     @Value("${com.example.authapp.cognito.clientSecret:}")
     private String clientSecret;
 
+    @Value("${com.example.authapp.cognito.group-cache-ttl-seconds:300}")
+    private long groupCacheTtlSeconds;
+
     private AWSCognitoIdentityProvider cognitoClient;
 
+    // Group membership changes rarely; logins read it from here instead of calling Cognito each time.
+    private Cache<String, java.util.List<String>> groupCache;
+
     @PostConstruct
     public void init() {
         AWSCredentialsProvider awsCredentialsProvider;
@@ -56,6 +65,11 @@ public class CognitoService {
                 .withCredentials(awsCredentialsProvider)
                 .withRegion(Regions.fromName(awsRegion))
                 .build();
+
+        groupCache = Caffeine.newBuilder()
+                .maximumSize(10_000)
+                .expireAfterWrite(Duration.ofSeconds(Math.max(1, groupCacheTtlSeconds)))
+                .build();
     }
 
     public void signUp(String username, String password, String email, String nickname) {
@@ -165,6 +179,8 @@ public class CognitoService {
             cognitoClient.adminAddUserToGroup(request);
         } catch (Exception e) {
             throw new RuntimeException("Error adding user " + username + " to group " + groupName + ": " + e.getMessage(), e);
+        } finally {
+            invalidateGroups(username);
         }
     }
 
@@ -235,6 +251,8 @@ public class CognitoService {
             System.out.println("User " + username + " deleted successfully from Cognito.");
         } catch (Exception e) {
             throw new RuntimeException("Error deleting user " + username + " from Cognito: " + e.getMessage(), e);
+        } finally {
+            invalidateGroups(username);
         }
     }
 
@@ -260,7 +278,20 @@ public class CognitoService {
         }
     }
 
+    /**
+     * Group names for the user, served from a short-lived cache.
+     */
     public java.util.List<String> listGroups(String username) {
+        return groupCache.get(username, this::fetchGroups);
+    }
+
+    public void invalidateGroups(String username) {
+        if (username != null) {
+            groupCache.invalidate(username);
+        }
+    }
+
+    private java.util.List<String> fetchGroups(String username) {
         try {
             AdminListGroupsForUserRequest request = new AdminListGroupsForUserRequest()
                     .withUserPoolId(userPoolId)
@@ -270,7 +301,7 @@ public class CognitoService {
             if (result.getGroups() != null) {
                 result.getGroups().forEach(g -> groups.add(g.getGroupName()));
             }
-            return groups;
+            return java.util.List.copyOf(groups);
         } catch (Exception e) {
             throw new RuntimeException("Error listing Cognito groups for user " + username + ": " + e.getMessage(), e);
         }
@@ -2,7 +2,9 @@ package com.example.authapp.user;
 
 import com.amazonaws.services.cognitoidp.model.AttributeType;
 import com.example.authapp.comment.CommentRepository;
+import com.example.authapp.media.MediaAssetService;
 import com.example.authapp.post.PostRepository;
+import com.example.authapp.post.PostVoteStore;
 import org.springframework.security.authentication.DisabledException;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -29,17 +31,23 @@ public class UserService implements UserDetailsService {
     private final CognitoService cognitoService;
     private final PostRepository postRepository;
     private final CommentRepository commentRepository;
+    private final PostVoteStore postVoteStore;
+    private final MediaAssetService mediaAssetService;
 
     public UserService(UserRepository userRepository,
                        PasswordEncoder passwordEncoder,
                        CognitoService cognitoService,
                        PostRepository postRepository,
-                       CommentRepository commentRepository) {
+                       CommentRepository commentRepository,
+                       PostVoteStore postVoteStore,
+                       MediaAssetService mediaAssetService) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.cognitoService = cognitoService;
         this.postRepository = postRepository;
         this.commentRepository = commentRepository;
+        this.postVoteStore = postVoteStore;
+        this.mediaAssetService = mediaAssetService;
     }
 
     public void signup(User user, String profilePictureUrl) {
@@ -55,6 +63,7 @@ public class UserService implements UserDetailsService {
         }
 
         user.setRole(requestedRole == Role.ADMIN ? Role.ADMIN : Role.USER);
+        cognitoService.invalidateGroups(user.getUsername());
         user.setWarnCount(0L);
         user.setProfilePictureUrl(profilePictureUrl);
         userRepository.save(user);
@@ -125,11 +134,9 @@ public class UserService implements UserDetailsService {
             return;
         }
 
-        postRepository.findByVoterContains(user).forEach(post -> {
-            post.getVoter().remove(user);
-            postRepository.save(post);
-        });
+        postVoteStore.removeAllVotesBy(user.getId());
 
+        postRepository.findIdsByAuthor(user).forEach(mediaAssetService::detachPost);
         postRepository.deleteByAuthor(user);
         commentRepository.deleteByAuthor(user);
 
@@ -165,6 +172,7 @@ public class UserService implements UserDetailsService {
 
     private void markAdminAsDeleted(User user) {
         user.setRole(Role.DELETED);
+        cognitoService.invalidateGroups(user.getUsername());
         user.setNickname("탈퇴한 사용자");
         user.setEmail("deleted_" + user.getId() + "@example.com");
         user.setPassword(passwordEncoder.encode(UUID.randomUUID().toString()));
@@ -0,0 +1,89 @@
+package com.example.authapp.video;
+
+import com.amazonaws.services.rekognition.AmazonRekognition;
+import com.amazonaws.services.rekognition.model.ContentModerationDetection;
+import com.amazonaws.services.rekognition.model.ContentModerationSortBy;
+import com.amazonaws.services.rekognition.model.GetContentModerationRequest;
+import com.amazonaws.services.rekognition.model.GetContentModerationResult;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Walks every page of a Rekognition video moderation job, fetching the next page only
+ * when the current one has been consumed. Single use: iterate it once.
+ */
+class ContentModerationPages implements Iterable<ContentModerationDetection> {
+
+    private static final int PAGE_SIZE = 1000;
+
+    private final AmazonRekognition amazonRekognition;
+    private final String jobId;
+    private GetContentModerationResult firstPage;
+
+    ContentModerationPages(AmazonRekognition amazonRekognition, String jobId) {
+        this.amazonRekognition = amazonRekognition;
+        this.jobId = jobId;
+    }
+
+    /**
+     * Status reported by Rekognition for the job; fetches the first page if needed.
+     */
+    String jobStatus() {
+        return firstPage().getJobStatus();
+    }
+
+    @Override
+    public Iterator<ContentModerationDetection> iterator() {
+        return new Iterator<>() {
+            private GetContentModerationResult page = firstPage();
+            private Iterator<ContentModerationDetection> detections = detectionsOf(page);
+
+            @Override
+            public boolean hasNext() {
+                while (!detections.hasNext()) {
+                    String nextToken = page.getNextToken();
+                    if (nextToken == null || nextToken.isBlank()) {
+                        return false;
+                    }
+                    page = fetch(nextToken);
+                    detections = detectionsOf(page);
+                }
+                return true;
+            }
+
+            @Override
+            public ContentModerationDetection next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return detections.next();
+            }
+        };
+    }
+
+    private GetContentModerationResult firstPage() {
+        if (firstPage == null) {
+            firstPage = fetch(null);
+        }
+        return firstPage;
+    }
+
+    private GetContentModerationResult fetch(String nextToken) {
+        return amazonRekognition.getContentModeration(new GetContentModerationRequest()
+                .withJobId(jobId)
+                .withMaxResults(PAGE_SIZE)
+                .withSortBy(ContentModerationSortBy.TIMESTAMP)
+                .withNextToken(nextToken));
+    }
+
+    private static Iterator<ContentModerationDetection> detectionsOf(GetContentModerationResult page) {
+        if (!"SUCCEEDED".equals(page.getJobStatus())) {
+            return Collections.emptyIterator();
+        }
+        List<ContentModerationDetection> detections = page.getModerationLabels();
+        return detections != null ? detections.iterator() : Collections.emptyIterator();
+    }
+}
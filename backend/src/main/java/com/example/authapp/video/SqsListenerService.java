@@ -1,10 +1,9 @@
 package com.example.authapp.video;
 
 import com.amazonaws.services.rekognition.AmazonRekognition;
-import com.amazonaws.services.rekognition.model.ContentModerationDetection;
-import com.amazonaws.services.rekognition.model.GetContentModerationRequest;
-import com.amazonaws.services.rekognition.model.GetContentModerationResult;
 import com.amazonaws.services.rekognition.model.ModerationLabel;
+import com.example.authapp.media.MediaAsset;
+import com.example.authapp.media.MediaAssetService;
 import com.example.authapp.post.Post;
 import com.example.authapp.post.PostRepository;
 import com.example.authapp.s3.S3Service;
@@ -14,7 +13,6 @@ import com.example.authapp.video.dto.VideoModerationLambdaResult;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import io.awspring.cloud.messaging.listener.annotation.SqsListener;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -31,6 +29,7 @@ import java.util.stream.Collectors;
 public class SqsListenerService {
 
     private static final Logger log = LoggerFactory.getLogger(SqsListenerService.class);
+    private static final String IN_PROGRESS = "IN_PROGRESS";
 
     private final ObjectMapper objectMapper;
     private final VideoModerationRepository videoModerationRepository;
@@ -38,23 +37,28 @@ public class SqsListenerService {
     private final VideoModerationProcessingService videoModerationProcessingService;
     private final PostRepository postRepository;
     private final S3Service s3Service;
+    private final MediaAssetService mediaAssetService;
 
     public SqsListenerService(ObjectMapper objectMapper,
                               VideoModerationRepository videoModerationRepository,
                               AmazonRekognition amazonRekognition,
                               VideoModerationProcessingService videoModerationProcessingService,
                               PostRepository postRepository,
-                              S3Service s3Service) {
+                              S3Service s3Service,
+                              MediaAssetService mediaAssetService) {
         this.objectMapper = objectMapper;
         this.videoModerationRepository = videoModerationRepository;
         this.amazonRekognition = amazonRekognition;
         this.videoModerationProcessingService = videoModerationProcessingService;
         this.postRepository = postRepository;
         this.s3Service = s3Service;
+        this.mediaAssetService = mediaAssetService;
     }
 
-    @SqsListener("${cloud.aws.sqs.queue-name}")
-    @Transactional
+    /**
+     * Handles one Rekognition result in its own transaction. Called by {@link VideoResultConsumer}.
+     */
+    @Transactional(rollbackFor = Exception.class)
     public void receiveMessage(String messageJson) throws JsonProcessingException {
         log.info("Received SQS message for video moderation: {}", messageJson);
         JsonNode rootNode = objectMapper.readTree(messageJson);
@@ -75,8 +79,8 @@ public class SqsListenerService {
         log.info("Parsed Rekognition callback (legacy). jobId={}, status={}", jobId, status);
 
         String objectKey = extractObjectKey(rekognitionMessage);
-        VideoModeration videoModeration = ensureVideoModeration(jobId, status, objectKey);
-        if (videoModeration == null) {
+        VideoModeration videoModeration = ensureVideoModeration(jobId, objectKey);
+        if (videoModeration == null || isSettled(videoModeration)) {
             return;
         }
 
@@ -85,11 +89,9 @@ public class SqsListenerService {
 
         if ("SUCCEEDED".equals(status)) {
             log.info("Fetching moderation results for jobId={} (legacy)", jobId);
-            GetContentModerationResult moderationResult = getModerationResult(jobId);
-            labels = moderationResult.getModerationLabels().stream()
-                    .map(ContentModerationDetection::getModerationLabel)
-                    .collect(Collectors.toList());
-            resultJson = objectMapper.writeValueAsString(labels);
+            VideoLabelSummary summary = VideoLabelSummary.of(new ContentModerationPages(amazonRekognition, jobId));
+            labels = summary.toModerationLabels();
+            resultJson = summary.toJson(objectMapper);
             log.info("Fetched moderation labels for jobId={}, labelCount={}", jobId, labels.size());
         } else {
             log.warn("Video moderation job did not succeed. jobId={}, status={}", jobId, status);
@@ -104,8 +106,8 @@ public class SqsListenerService {
         String status = result.getStatus();
         String objectKey = Optional.ofNullable(result.getObjectKey()).orElse(result.getJobTag());
 
-        VideoModeration videoModeration = ensureVideoModeration(jobId, status, objectKey);
-        if (videoModeration == null) {
+        VideoModeration videoModeration = ensureVideoModeration(jobId, objectKey);
+        if (videoModeration == null || isSettled(videoModeration)) {
             return;
         }
 
@@ -119,11 +121,17 @@ public class SqsListenerService {
         videoModerationProcessingService.handleResult(videoModeration, status, labels, resultJson, resolvedVideoUrl);
     }
 
-    private VideoModeration ensureVideoModeration(String jobId, String status, String objectKey) {
-        VideoModeration videoModeration = videoModerationRepository.findByJobId(jobId).orElse(null);
-        if (videoModeration == null && objectKey != null) {
-            videoModeration = videoModerationRepository.findByS3ObjectKey(objectKey).orElse(null);
+    private boolean isSettled(VideoModeration videoModeration) {
+        if (IN_PROGRESS.equals(videoModeration.getStatus())) {
+            return false;
         }
+        log.info("Ignoring callback for already settled job. jobId={}, status={}",
+                videoModeration.getJobId(), videoModeration.getStatus());
+        return true;
+    }
+
+    private VideoModeration ensureVideoModeration(String jobId, String objectKey) {
+        VideoModeration videoModeration = videoModerationRepository.findByJobId(jobId).orElse(null);
 
         if (videoModeration == null) {
             Post targetPost = resolvePostFromObjectKey(objectKey);
@@ -133,30 +141,21 @@ public class SqsListenerService {
             }
             videoModeration = new VideoModeration();
             videoModeration.setJobId(jobId);
-            videoModeration.setStatus(status);
+            videoModeration.setStatus(IN_PROGRESS);
             videoModeration.setPost(targetPost);
             videoModeration.setS3ObjectKey(objectKey);
-            targetPost.setVideoModeration(videoModeration);
+            targetPost.getVideoModerations().add(videoModeration);
             videoModeration = videoModerationRepository.save(videoModeration);
-            postRepository.save(targetPost);
             log.info("Created VideoModeration record for jobId={} and postId={}", jobId, targetPost.getId());
         } else {
             if (videoModeration.getS3ObjectKey() == null && objectKey != null) {
                 videoModeration.setS3ObjectKey(objectKey);
+                videoModerationRepository.save(videoModeration);
             }
-            videoModeration.setStatus(status);
-            videoModerationRepository.save(videoModeration);
         }
         return videoModeration;
     }
 
-
-    private GetContentModerationResult getModerationResult(String jobId) {
-        GetContentModerationRequest request = new GetContentModerationRequest().withJobId(jobId);
-
-        return amazonRekognition.getContentModeration(request);
-    }
-
     private String extractObjectKey(RekognitionMessage message) {
         if (message.getVideo() != null && message.getVideo().getS3ObjectName() != null) {
             return message.getVideo().getS3ObjectName();
@@ -171,13 +170,28 @@ public class SqsListenerService {
         if (objectKey == null || objectKey.isBlank()) {
             return null;
         }
+        Optional<Post> owner = mediaAssetService.findSoleOwner(objectKey)
+                .map(MediaAsset::getPostId)
+                .flatMap(postRepository::findById);
+        if (owner.isPresent()) {
+            return owner.get();
+        }
+        // Shared uploads, and uploads from before media_asset existed, are only reachable through
+        // their URLs. Each post starts its own job, so prefer one that has no job for this key yet.
+        Post fallback = null;
         for (String candidate : s3Service.buildCandidateUrls(objectKey)) {
-            List<Post> posts = postRepository.findByFileUrl(candidate);
-            if (!posts.isEmpty()) {
-                return posts.get(0);
+            for (Post post : postRepository.findByFileUrl(candidate)) {
+                boolean hasJob = post.getVideoModerations().stream()
+                        .anyMatch(existing -> objectKey.equals(existing.getS3ObjectKey()));
+                if (!hasJob) {
+                    return post;
+                }
+                if (fallback == null) {
+                    fallback = post;
+                }
             }
         }
-        return null;
+        return fallback;
     }
 
     private String resolveVideoUrl(VideoModeration videoModeration, String objectKey) {
@@ -0,0 +1,121 @@
+package com.example.authapp.video;
+
+import com.amazonaws.services.rekognition.model.ContentModerationDetection;
+import com.amazonaws.services.rekognition.model.ModerationLabel;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Folds the frame-level detections of a video job into one entry per label with its
+ * highest confidence and the time ranges it was seen in. Memory stays proportional to
+ * the number of distinct labels, not to the length of the video.
+ */
+class VideoLabelSummary {
+
+    static final int MAX_LABELS = 50;
+    static final int MAX_RANGES_PER_LABEL = 20;
+    static final long RANGE_GAP_MS = 2000;
+
+    private final Map<String, LabelStats> labels = new HashMap<>();
+    private long detections;
+
+    public static VideoLabelSummary of(Iterable<ContentModerationDetection> detections) {
+        VideoLabelSummary summary = new VideoLabelSummary();
+        for (ContentModerationDetection detection : detections) {
+            summary.add(detection);
+        }
+        return summary;
+    }
+
+    public void add(ContentModerationDetection detection) {
+        if (detection == null || detection.getModerationLabel() == null) {
+            return;
+        }
+        ModerationLabel label = detection.getModerationLabel();
+        String key = label.getParentName() + "/" + label.getName();
+        labels.computeIfAbsent(key, ignored -> new LabelStats(label.getName(), label.getParentName()))
+                .record(label.getConfidence(), detection.getTimestamp());
+        detections++;
+    }
+
+    /**
+     * One label per distinct name, carrying its highest confidence, strongest first.
+     */
+    public List<ModerationLabel> toModerationLabels() {
+        return sorted().stream()
+                .map(stats -> new ModerationLabel()
+                        .withName(stats.name)
+                        .withParentName(stats.parentName)
+                        .withConfidence(stats.maxConfidence))
+                .toList();
+    }
+
+    /**
+     * Bounded JSON summary: at most {@link #MAX_LABELS} labels with up to
+     * {@link #MAX_RANGES_PER_LABEL} time ranges each.
+     */
+    public String toJson(ObjectMapper objectMapper) throws JsonProcessingException {
+        List<LabelStats> ordered = sorted();
+        List<Map<String, Object>> entries = new ArrayList<>();
+        for (LabelStats stats : ordered.subList(0, Math.min(MAX_LABELS, ordered.size()))) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("name", stats.name);
+            entry.put("parentName", stats.parentName);
+            entry.put("maxConfidence", stats.maxConfidence);
+            entry.put("occurrences", stats.occurrences);
+            entry.put("rangesMs", stats.ranges);
+            entries.add(entry);
+        }
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("detections", detections);
+        summary.put("distinctLabels", ordered.size());
+        summary.put("truncated", ordered.size() > MAX_LABELS);
+        summary.put("labels", entries);
+        return objectMapper.writeValueAsString(summary);
+    }
+
+    private List<LabelStats> sorted() {
+        List<LabelStats> ordered = new ArrayList<>(labels.values());
+        ordered.sort(Comparator.comparingDouble((LabelStats stats) -> stats.maxConfidence).reversed());
+        return ordered;
+    }
+
+    private static final class LabelStats {
+        private final String name;
+        private final String parentName;
+        private final List<long[]> ranges = new ArrayList<>();
+        private float maxConfidence;
+        private long occurrences;
+
+        private LabelStats(String name, String parentName) {
+            this.name = name;
+            this.parentName = parentName;
+        }
+
+        private void record(Float confidence, Long timestamp) {
+            occurrences++;
+            if (confidence != null && confidence > maxConfidence) {
+                maxConfidence = confidence;
+            }
+            if (timestamp == null) {
+                return;
+            }
+            long at = timestamp;
+            long[] last = ranges.isEmpty() ? null : ranges.get(ranges.size() - 1);
+            if (last == null || (at - last[1] > RANGE_GAP_MS && ranges.size() < MAX_RANGES_PER_LABEL)) {
+                ranges.add(new long[]{at, at});
+            } else {
+                // Close enough to the previous sighting, or out of range slots: widen the last range.
+                last[0] = Math.min(last[0], at);
+                last[1] = Math.max(last[1], at);
+            }
+        }
+    }
+}
@@ -4,6 +4,8 @@ import com.amazonaws.services.rekognition.model.ModerationLabel;
 import com.example.authapp.admin.AdminReviewItem;
 import com.example.authapp.admin.AdminReviewItemRepository;
 import com.example.authapp.admin.NotificationService;
+import com.example.authapp.media.MediaAssetService;
+import com.example.authapp.media.MediaModerationState;
 import com.example.authapp.post.Post;
 import com.example.authapp.post.PostRepository;
 import org.slf4j.Logger;
@@ -22,17 +24,35 @@ public class VideoModerationProcessingService {
     private final AdminReviewItemRepository adminReviewItemRepository;
     private final PostRepository postRepository;
     private final NotificationService notificationService;
+    private final MediaAssetService mediaAssetService;
 
     public VideoModerationProcessingService(VideoModerationRepository videoModerationRepository,
                                             AdminReviewItemRepository adminReviewItemRepository,
                                             PostRepository postRepository,
-                                            NotificationService notificationService) {
+                                            NotificationService notificationService,
+                                            MediaAssetService mediaAssetService) {
         this.videoModerationRepository = videoModerationRepository;
         this.adminReviewItemRepository = adminReviewItemRepository;
         this.postRepository = postRepository;
         this.notificationService = notificationService;
+        this.mediaAssetService = mediaAssetService;
     }
 
+    @Transactional
+    public void completeJob(String jobId, String status, List<ModerationLabel> labels, String moderationResultJson) {
+        VideoModeration videoModeration = videoModerationRepository.findByJobId(jobId).orElse(null);
+        if (videoModeration == null) {
+            log.warn("No VideoModeration found for reconciled job. jobId={}", jobId);
+            return;
+        }
+        handleResult(videoModeration, status, labels, moderationResultJson, null);
+    }
+
+    /**
+     * Applies a job's result once. SQS redeliveries, late callbacks and the reconciler may
+     * all report the same job; only the first to move it out of IN_PROGRESS proceeds.
+     */
+
     @Transactional
     public void handleResult(VideoModeration videoModeration,
                              String status,
@@ -40,6 +60,10 @@ public class VideoModerationProcessingService {
                              String moderationResultJson,
                              String videoUrl) {
         String jobId = videoModeration.getJobId();
+        if (videoModerationRepository.settle(videoModeration.getId(), status) == 0) {
+            log.info("Video job already settled, skipping duplicate result. jobId={}, status={}", jobId, status);
+            return;
+        }
         log.info("Processing Rekognition result. jobId={}, status={}, labelCount={}", jobId, status, labels != null ? labels.size() : 0);
         videoModeration.setStatus(status);
         videoModeration.setModerationResult(moderationResultJson);
@@ -47,14 +71,17 @@ public class VideoModerationProcessingService {
 
         if (!"SUCCEEDED".equals(status)) {
             log.info("Skipping report processing because job did not succeed. jobId={}, status={}", jobId, status);
+            mediaAssetService.markModeration(videoModeration.getS3ObjectKey(), MediaModerationState.FAILED);
             return;
         }
 
         if (labels == null || labels.isEmpty()) {
             log.info("No moderation labels detected for jobId={}. Marking as clean.", jobId);
+            mediaAssetService.markModeration(videoModeration.getS3ObjectKey(), MediaModerationState.CLEAN);
             return;
         }
 
+        mediaAssetService.markModeration(videoModeration.getS3ObjectKey(), MediaModerationState.FLAGGED);
         Post post = videoModeration.getPost();
         post.markReported(true);
         postRepository.save(post);
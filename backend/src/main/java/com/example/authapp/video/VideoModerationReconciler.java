@@ -0,0 +1,103 @@
+package com.example.authapp.video;
+
+import com.amazonaws.services.rekognition.AmazonRekognition;
+import com.amazonaws.services.rekognition.model.AmazonRekognitionException;
+import com.amazonaws.services.rekognition.model.InvalidParameterException;
+import com.amazonaws.services.rekognition.model.ResourceNotFoundException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Settles Rekognition video jobs whose SNS/SQS completion callback never arrived.
+ * Jobs are normally completed by {@link SqsListenerService}; this only looks at jobs
+ * that have been IN_PROGRESS longer than the configured grace period.
+ */
+@Component
+public class VideoModerationReconciler {
+
+    private static final Logger log = LoggerFactory.getLogger(VideoModerationReconciler.class);
+    private static final String IN_PROGRESS = "IN_PROGRESS";
+
+    private final VideoModerationRepository videoModerationRepository;
+    private final VideoModerationProcessingService videoModerationProcessingService;
+    private final AmazonRekognition amazonRekognition;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.video.reconcile-after-minutes:15}")
+    private long reconcileAfterMinutes;
+
+    public VideoModerationReconciler(VideoModerationRepository videoModerationRepository,
+                                     VideoModerationProcessingService videoModerationProcessingService,
+                                     AmazonRekognition amazonRekognition,
+                                     ObjectMapper objectMapper) {
+        this.videoModerationRepository = videoModerationRepository;
+        this.videoModerationProcessingService = videoModerationProcessingService;
+        this.amazonRekognition = amazonRekognition;
+        this.objectMapper = objectMapper;
+    }
+
+    @Scheduled(fixedDelayString = "${app.video.reconcile-interval-ms:120000}")
+    public void reconcileStaleJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(reconcileAfterMinutes);
+        List<VideoModeration> stale = videoModerationRepository.findByStatusAndUpdatedAtBefore(IN_PROGRESS, cutoff);
+        if (stale.isEmpty()) {
+            return;
+        }
+        log.info("Reconciling {} video moderation jobs without a callback (cutoff={}).", stale.size(), cutoff);
+        for (VideoModeration videoModeration : stale) {
+            String jobId = videoModeration.getJobId();
+            if (jobId == null || jobId.isBlank()) {
+                continue;
+            }
+            try {
+                reconcile(jobId);
+            } catch (RuntimeException ex) {
+                log.error("Failed to reconcile video moderation job. jobId={}", jobId, ex);
+            }
+        }
+    }
+
+    private void reconcile(String jobId) {
+        String status;
+        VideoLabelSummary summary;
+
+        try {
+            ContentModerationPages pages = new ContentModerationPages(amazonRekognition, jobId);
+            status = pages.jobStatus();
+            summary = VideoLabelSummary.of(pages);
+        } catch (ResourceNotFoundException | InvalidParameterException ex) {
+            log.warn("Rekognition no longer knows video job, marking it failed. jobId={}, error={}", jobId, ex.getErrorMessage());
+            videoModerationProcessingService.completeJob(jobId, "FAILED", Collections.emptyList(), "[]");
+            return;
+        } catch (AmazonRekognitionException ex) {
+            // Throttling, 5xx and the like: keep the job IN_PROGRESS and retry on the next sweep.
+            log.warn("Could not poll video moderation job, will retry. jobId={}, error={}", jobId, ex.getErrorMessage());
+            return;
+        }
+
+        if (IN_PROGRESS.equals(status)) {
+            log.debug("Video moderation job still running. jobId={}", jobId);
+            return;
+        }
+
+        videoModerationProcessingService.completeJob(jobId, status, summary.toModerationLabels(), serialize(summary));
+    }
+
+    private String serialize(VideoLabelSummary summary) {
+        try {
+            return summary.toJson(objectMapper);
+        } catch (JsonProcessingException e) {
+            log.warn("Failed to serialize reconciled moderation labels: {}", e.getMessage());
+            return "[]";
+        }
+    }
+}
@@ -1,11 +1,27 @@
 package com.example.authapp.video;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 public interface VideoModerationRepository extends JpaRepository<VideoModeration, Long> {
     Optional<VideoModeration> findByJobId(String jobId);
 
-    Optional<VideoModeration> findByS3ObjectKey(String s3ObjectKey);
+    Optional<VideoModeration> findFirstByS3ObjectKeyOrderByIdDesc(String s3ObjectKey);
+
+    List<VideoModeration> findByStatusAndUpdatedAtBefore(String status, LocalDateTime updatedAt);
+
+    /**
+     * Moves a job out of IN_PROGRESS. Returns 0 when another callback or the reconciler
+     * already settled it, so each job's result is applied once.
+     */
+    @Modifying
+    @Query("UPDATE VideoModeration v SET v.status = :status, v.updatedAt = CURRENT_TIMESTAMP "
+            + "WHERE v.id = :id AND v.status = 'IN_PROGRESS'")
+    int settle(@Param("id") Long id, @Param("status") String status);
 }
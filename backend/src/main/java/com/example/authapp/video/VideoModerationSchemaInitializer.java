@@ -0,0 +1,49 @@
+package com.example.authapp.video;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Drops the single-column unique key Hibernate created on {@code video_moderation.post_id}
+ * while the mapping was one-to-one; {@code ddl-auto=update} never removes it, and it would
+ * reject the second video job of a post.
+ */
+@Component
+public class VideoModerationSchemaInitializer implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(VideoModerationSchemaInitializer.class);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public VideoModerationSchemaInitializer(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        try {
+            List<String> uniqueKeys = jdbcTemplate.queryForList("""
+                    SELECT index_name
+                    FROM information_schema.statistics
+                    WHERE table_schema = DATABASE()
+                      AND table_name = 'video_moderation'
+                      AND non_unique = 0
+                      AND index_name <> 'PRIMARY'
+                    GROUP BY index_name
+                    HAVING COUNT(*) = 1 AND MAX(column_name) = 'post_id'
+                    """, String.class);
+            for (String indexName : uniqueKeys) {
+                jdbcTemplate.execute("ALTER TABLE video_moderation DROP INDEX `" + indexName + "`");
+                log.info("Dropped unique key {} on video_moderation.post_id.", indexName);
+            }
+        } catch (Exception ex) {
+            log.error("Failed to drop the unique key on video_moderation.post_id", ex);
+        }
+    }
+}
@@ -0,0 +1,297 @@
+package com.example.authapp.video;
+
+import com.amazonaws.services.sqs.AmazonSQS;
+import com.amazonaws.services.sqs.model.BatchResultErrorEntry;
+import com.amazonaws.services.sqs.model.ChangeMessageVisibilityBatchRequestEntry;
+import com.amazonaws.services.sqs.model.DeleteMessageBatchRequestEntry;
+import com.amazonaws.services.sqs.model.DeleteMessageBatchResult;
+import com.amazonaws.services.sqs.model.Message;
+import com.amazonaws.services.sqs.model.ReceiveMessageRequest;
+import com.amazonaws.services.sqs.model.SendMessageRequest;
+import com.example.authapp.config.AppProperties;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Consumes Rekognition video results from SQS with several long-polling workers.
+ * Each message is handled in its own transaction, successful messages of a batch are
+ * deleted together, in-flight messages have their visibility extended while they are
+ * being worked on, and messages that keep failing are moved to the dead-letter queue.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.video", name = "sqs-enabled", havingValue = "true")
+public class VideoResultConsumer implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(VideoResultConsumer.class);
+    private static final String RECEIVE_COUNT = "ApproximateReceiveCount";
+
+    @FunctionalInterface
+    interface MessageHandler {
+        void handle(String body) throws Exception;
+    }
+
+    private final AmazonSQS amazonSQS;
+    private final MessageHandler handler;
+    private final String queueName;
+    private final AppProperties.Video settings;
+    private final int threads;
+    private final int batchSize;
+    private final ExecutorService pollers;
+    private final ScheduledExecutorService heartbeat;
+    private final Counter processed;
+    private final Counter failed;
+    private final Counter deadLettered;
+    private final Timer handleLatency;
+    private volatile boolean running;
+    private volatile String queueUrl;
+    private volatile String deadLetterQueueUrl;
+
+    @Autowired
+    public VideoResultConsumer(AmazonSQS amazonSQS,
+                               SqsListenerService sqsListenerService,
+                               @Value("${cloud.aws.sqs.queue-name}") String queueName,
+                               AppProperties appProperties,
+                               MeterRegistry meterRegistry) {
+        this(amazonSQS, sqsListenerService::receiveMessage, queueName, appProperties.getVideo(), meterRegistry);
+    }
+
+    VideoResultConsumer(AmazonSQS amazonSQS,
+                        MessageHandler handler,
+                        String queueName,
+                        AppProperties.Video settings,
+                        MeterRegistry meterRegistry) {
+        this.amazonSQS = amazonSQS;
+        this.handler = handler;
+        this.queueName = queueName;
+        this.settings = settings;
+        this.threads = Math.max(1, settings.getConsumerThreads());
+        this.batchSize = Math.max(1, Math.min(10, settings.getReceiveBatchSize()));
+
+        AtomicInteger counter = new AtomicInteger();
+        this.pollers = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "video-sqs-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.heartbeat = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "video-sqs-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.processed = messageCounter(meterRegistry, "processed");
+        this.failed = messageCounter(meterRegistry, "failed");
+        this.deadLettered = messageCounter(meterRegistry, "dead_lettered");
+        this.handleLatency = Timer.builder("community_video_sqs_handle_latency")
+                .description("Time spent handling one video moderation result message")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        resolveQueues();
+        running = true;
+        for (int i = 0; i < threads; i++) {
+            pollers.execute(this::pollLoop);
+        }
+        log.info("Video result consumer started. queue={}, threads={}, batchSize={}", queueName, threads, batchSize);
+    }
+
+    void resolveQueues() {
+        queueUrl = amazonSQS.getQueueUrl(queueName).getQueueUrl();
+        String deadLetterQueueName = settings.getDeadLetterQueueName();
+        if (deadLetterQueueName != null && !deadLetterQueueName.isBlank()) {
+            deadLetterQueueUrl = amazonSQS.getQueueUrl(deadLetterQueueName).getQueueUrl();
+        }
+    }
+
+    private void pollLoop() {
+        while (running) {
+            try {
+                pollOnce();
+            } catch (RuntimeException ex) {
+                log.error("Failed to receive video result messages from queue={}", queueName, ex);
+                sleepQuietly(TimeUnit.SECONDS.toMillis(1));
+            }
+        }
+    }
+
+    /**
+     * Receives one batch and handles it. Returns the number of messages received.
+     */
+    int pollOnce() {
+        List<Message> messages = amazonSQS.receiveMessage(new ReceiveMessageRequest(queueUrl)
+                        .withMaxNumberOfMessages(batchSize)
+                        .withWaitTimeSeconds(Math.max(0, settings.getWaitTimeSeconds()))
+                        .withVisibilityTimeout(visibilityTimeoutSeconds())
+                        .withAttributeNames(RECEIVE_COUNT))
+                .getMessages();
+        if (messages == null || messages.isEmpty()) {
+            return 0;
+        }
+
+        // Handled messages stay in flight until the batch delete so they cannot reappear meanwhile.
+        List<Message> inFlight = new CopyOnWriteArrayList<>(messages);
+        long extendEvery = Math.max(1, visibilityTimeoutSeconds() / 2);
+        ScheduledFuture<?> extension = heartbeat.scheduleAtFixedRate(
+                () -> extendVisibility(inFlight), extendEvery, extendEvery, TimeUnit.SECONDS);
+        List<Message> completed = new ArrayList<>(messages.size());
+        try {
+            for (Message message : messages) {
+                if (handle(message)) {
+                    completed.add(message);
+                } else {
+                    inFlight.remove(message);
+                }
+            }
+        } finally {
+            extension.cancel(false);
+        }
+        delete(completed);
+        return messages.size();
+    }
+
+    private boolean handle(Message message) {
+        Timer.Sample sample = Timer.start();
+        try {
+            handler.handle(message.getBody());
+            processed.increment();
+            return true;
+        } catch (JsonProcessingException ex) {
+            failed.increment();
+            log.error("Unreadable video result message. messageId={}", message.getMessageId(), ex);
+            return deadLetter(message);
+        } catch (Exception ex) {
+            failed.increment();
+            int receiveCount = receiveCount(message);
+            if (receiveCount >= settings.getMaxReceiveCount()) {
+                log.error("Video result message failed {} times. messageId={}", receiveCount, message.getMessageId(), ex);
+                return deadLetter(message);
+            }
+            log.warn("Video result message failed and will be redelivered. messageId={}, receiveCount={}",
+                    message.getMessageId(), receiveCount, ex);
+            return false;
+        } finally {
+            sample.stop(handleLatency);
+        }
+    }
+
+    /**
+     * Copies the message to the dead-letter queue. Returns true when it may be deleted from
+     * the source queue; without a configured dead-letter queue the queue's own redrive policy applies.
+     */
+    private boolean deadLetter(Message message) {
+        if (deadLetterQueueUrl == null) {
+            return false;
+        }
+        try {
+            amazonSQS.sendMessage(new SendMessageRequest(deadLetterQueueUrl, message.getBody()));
+            deadLettered.increment();
+            return true;
+        } catch (RuntimeException ex) {
+            log.error("Failed to dead-letter video result message. messageId={}", message.getMessageId(), ex);
+            return false;
+        }
+    }
+
+    private void delete(List<Message> messages) {
+        if (messages.isEmpty()) {
+            return;
+        }
+        List<DeleteMessageBatchRequestEntry> entries = new ArrayList<>(messages.size());
+        for (int i = 0; i < messages.size(); i++) {
+            entries.add(new DeleteMessageBatchRequestEntry(String.valueOf(i), messages.get(i).getReceiptHandle()));
+        }
+        DeleteMessageBatchResult result = amazonSQS.deleteMessageBatch(queueUrl, entries);
+        for (BatchResultErrorEntry error : result.getFailed()) {
+            log.warn("Failed to delete video result message. entry={}, code={}, message={}",
+                    error.getId(), error.getCode(), error.getMessage());
+        }
+    }
+
+    private void extendVisibility(List<Message> inFlight) {
+        if (inFlight.isEmpty()) {
+            return;
+        }
+        List<ChangeMessageVisibilityBatchRequestEntry> entries = new ArrayList<>(inFlight.size());
+        int index = 0;
+        for (Message message : inFlight) {
+            entries.add(new ChangeMessageVisibilityBatchRequestEntry(String.valueOf(index++), message.getReceiptHandle())
+                    .withVisibilityTimeout(visibilityTimeoutSeconds()));
+        }
+        try {
+            amazonSQS.changeMessageVisibilityBatch(queueUrl, entries);
+        } catch (RuntimeException ex) {
+            log.warn("Failed to extend visibility for {} video result messages: {}", entries.size(), ex.getMessage());
+        }
+    }
+
+    private int visibilityTimeoutSeconds() {
+        return Math.max(2, settings.getVisibilityTimeoutSeconds());
+    }
+
+    private static int receiveCount(Message message) {
+        String value = message.getAttributes() != null ? message.getAttributes().get(RECEIVE_COUNT) : null;
+        if (value == null) {
+            return 1;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException ex) {
+            return 1;
+        }
+    }
+
+    private static Counter messageCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("community_video_sqs_messages")
+                .description("Video moderation result messages by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private static void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        running = false;
+        pollers.shutdown();
+        try {
+            if (!pollers.awaitTermination(Math.max(0, settings.getWaitTimeSeconds()) + 10L, TimeUnit.SECONDS)) {
+                log.warn("Video result consumers did not finish before shutdown.");
+                pollers.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            pollers.shutdownNow();
+        } finally {
+            heartbeat.shutdownNow();
+        }
+    }
+}
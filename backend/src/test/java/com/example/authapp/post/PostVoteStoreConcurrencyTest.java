@@ -0,0 +1,147 @@
+package com.example.authapp.post;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs concurrent votes against a real MySQL so InnoDB row locks and foreign key checks
+ * apply. A deadlock between voters on the same post fails the test.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class PostVoteStoreConcurrencyTest {
+
+    private static final long POST_ID = 1L;
+    private static final int THREADS = 16;
+
+    @Container
+    private static final MySQLContainer<?> MYSQL = new MySQLContainer<>("mysql:8.0");
+
+    private static HikariDataSource dataSource;
+    private static JdbcTemplate jdbcTemplate;
+    private static TransactionTemplate transactionTemplate;
+
+    private PostVoteStore store;
+
+    @BeforeAll
+    static void setUpDatabase() {
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(MYSQL.getJdbcUrl());
+        dataSource.setUsername(MYSQL.getUsername());
+        dataSource.setPassword(MYSQL.getPassword());
+        dataSource.setMaximumPoolSize(THREADS + 2);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+
+        jdbcTemplate.execute("CREATE TABLE post (id BIGINT PRIMARY KEY, vote_count INT NOT NULL DEFAULT 0)");
+        jdbcTemplate.execute("""
+                CREATE TABLE post_voter (
+                    post_id BIGINT NOT NULL,
+                    voter_id BIGINT NOT NULL,
+                    PRIMARY KEY (post_id, voter_id),
+                    CONSTRAINT fk_post_voter_post FOREIGN KEY (post_id) REFERENCES post (id)
+                )""");
+    }
+
+    @AfterAll
+    static void closeDataSource() {
+        dataSource.close();
+    }
+
+    @BeforeEach
+    void resetPost() {
+        jdbcTemplate.update("DELETE FROM post_voter");
+        jdbcTemplate.update("DELETE FROM post");
+        jdbcTemplate.update("INSERT INTO post (id, vote_count) VALUES (?, 0)", POST_ID);
+        store = new PostVoteStore(jdbcTemplate);
+    }
+
+    @Test
+    void concurrentTogglesKeepCountInStepWithVoters() throws Exception {
+        // Users 0..199 toggle once (vote), users 200..299 toggle twice (vote then unvote).
+        List<Runnable> tasks = new ArrayList<>();
+        for (long userId = 0; userId < 200; userId++) {
+            long voter = userId;
+            tasks.add(() -> inTransaction(() -> store.toggle(POST_ID, voter)));
+        }
+        for (long userId = 200; userId < 300; userId++) {
+            long voter = userId;
+            tasks.add(() -> {
+                inTransaction(() -> store.toggle(POST_ID, voter));
+                inTransaction(() -> store.toggle(POST_ID, voter));
+            });
+        }
+        runConcurrently(tasks);
+
+        assertEquals(200, voteCount());
+        assertEquals(200, voterRows());
+        assertEquals(200, inTransaction(() -> store.setVote(POST_ID, 0L, true)).voteCount());
+    }
+
+    @Test
+    void repeatedSetVoteFromOneUserCountsOnce() throws Exception {
+        List<Runnable> tasks = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            tasks.add(() -> inTransaction(() -> store.setVote(POST_ID, 42L, true)));
+        }
+        runConcurrently(tasks);
+
+        assertEquals(1, voteCount());
+        assertEquals(0, inTransaction(() -> store.setVote(POST_ID, 42L, false)).voteCount());
+        assertEquals(0, inTransaction(() -> store.setVote(POST_ID, 42L, false)).voteCount());
+    }
+
+    private static <T> T inTransaction(Supplier<T> action) {
+        return transactionTemplate.execute(status -> action.get());
+    }
+
+    private static int voteCount() {
+        return jdbcTemplate.queryForObject("SELECT vote_count FROM post WHERE id = ?", Integer.class, POST_ID);
+    }
+
+    private static int voterRows() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM post_voter WHERE post_id = ?", Integer.class, POST_ID);
+    }
+
+    private static void runConcurrently(List<Runnable> tasks) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (Runnable task : tasks) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    task.run();
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+            assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.authapp.video;
+
+import com.amazonaws.services.sqs.AbstractAmazonSQS;
+import com.amazonaws.services.sqs.model.ChangeMessageVisibilityBatchRequest;
+import com.amazonaws.services.sqs.model.ChangeMessageVisibilityBatchResult;
+import com.amazonaws.services.sqs.model.DeleteMessageBatchRequest;
+import com.amazonaws.services.sqs.model.DeleteMessageBatchRequestEntry;
+import com.amazonaws.services.sqs.model.DeleteMessageBatchResult;
+import com.amazonaws.services.sqs.model.GetQueueUrlRequest;
+import com.amazonaws.services.sqs.model.GetQueueUrlResult;
+import com.amazonaws.services.sqs.model.Message;
+import com.amazonaws.services.sqs.model.ReceiveMessageRequest;
+import com.amazonaws.services.sqs.model.ReceiveMessageResult;
+import com.amazonaws.services.sqs.model.SendMessageRequest;
+import com.amazonaws.services.sqs.model.SendMessageResult;
+import com.example.authapp.config.AppProperties;
+import com.fasterxml.jackson.core.JsonParseException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class VideoResultConsumerTest {
+
+    private static final String QUEUE = "results";
+    private static final String DEAD_LETTER_QUEUE = "results-dlq";
+
+    @Test
+    void deletesHandledMessagesInOneBatchAndLeavesFailuresForRedelivery() {
+        LocalSqs sqs = new LocalSqs();
+        sqs.enqueue(QUEUE, "ok-1", 1);
+        sqs.enqueue(QUEUE, "boom", 1);
+        sqs.enqueue(QUEUE, "ok-2", 1);
+
+        VideoResultConsumer consumer = consumer(sqs, body -> {
+            if (body.equals("boom")) {
+                throw new IllegalStateException("db unavailable");
+            }
+        });
+
+        assertEquals(3, consumer.pollOnce());
+        assertEquals(1, sqs.deleteBatches.size());
+        assertEquals(2, sqs.deleteBatches.get(0).size());
+        assertTrue(sqs.queue(DEAD_LETTER_QUEUE).isEmpty());
+    }
+
+    @Test
+    void movesMessagesToDeadLetterQueueAfterMaxReceives() {
+        LocalSqs sqs = new LocalSqs();
+        sqs.enqueue(QUEUE, "boom", 5);
+        sqs.enqueue(QUEUE, "{not json", 1);
+
+        VideoResultConsumer consumer = consumer(sqs, body -> {
+            if (body.startsWith("{")) {
+                throw new JsonParseException(null, "unreadable");
+            }
+            throw new IllegalStateException("still failing");
+        });
+
+        assertEquals(2, consumer.pollOnce());
+        assertEquals(List.of("boom", "{not json"),
+                sqs.queue(DEAD_LETTER_QUEUE).stream().map(Message::getBody).toList());
+        assertEquals(2, sqs.deleteBatches.get(0).size());
+    }
+
+    private VideoResultConsumer consumer(LocalSqs sqs, VideoResultConsumer.MessageHandler handler) {
+        AppProperties.Video settings = new AppProperties.Video();
+        settings.setWaitTimeSeconds(0);
+        settings.setMaxReceiveCount(5);
+        settings.setDeadLetterQueueName(DEAD_LETTER_QUEUE);
+        VideoResultConsumer consumer = new VideoResultConsumer(sqs, handler, QUEUE, settings, new SimpleMeterRegistry());
+        consumer.resolveQueues();
+        return consumer;
+    }
+
+    /**
+     * Minimal single-threaded SQS stand-in: queues are in-memory deques addressed by name.
+     */
+    private static class LocalSqs extends AbstractAmazonSQS {
+
+        private final Map<String, Deque<Message>> queues = new HashMap<>();
+        private final List<List<DeleteMessageBatchRequestEntry>> deleteBatches = new ArrayList<>();
+
+        Deque<Message> queue(String name) {
+            return queues.computeIfAbsent(name, key -> new ArrayDeque<>());
+        }
+
+        void enqueue(String name, String body, int receiveCount) {
+            queue(name).add(new Message()
+                    .withMessageId(UUID.randomUUID().toString())
+                    .withReceiptHandle(UUID.randomUUID().toString())
+                    .withBody(body)
+                    .addAttributesEntry("ApproximateReceiveCount", String.valueOf(receiveCount)));
+        }
+
+        @Override
+        public GetQueueUrlResult getQueueUrl(GetQueueUrlRequest request) {
+            return new GetQueueUrlResult().withQueueUrl(request.getQueueName());
+        }
+
+        @Override
+        public ReceiveMessageResult receiveMessage(ReceiveMessageRequest request) {
+            Deque<Message> queue = queue(request.getQueueUrl());
+            List<Message> messages = new ArrayList<>();
+            while (!queue.isEmpty() && messages.size() < request.getMaxNumberOfMessages()) {
+                messages.add(queue.poll());
+            }
+            return new ReceiveMessageResult().withMessages(messages);
+        }
+
+        @Override
+        public SendMessageResult sendMessage(SendMessageRequest request) {
+            enqueue(request.getQueueUrl(), request.getMessageBody(), 0);
+            return new SendMessageResult();
+        }
+
+        @Override
+        public DeleteMessageBatchResult deleteMessageBatch(DeleteMessageBatchRequest request) {
+            deleteBatches.add(request.getEntries());
+            return new DeleteMessageBatchResult();
+        }
+
+        @Override
+        public ChangeMessageVisibilityBatchResult changeMessageVisibilityBatch(ChangeMessageVisibilityBatchRequest request) {
+            return new ChangeMessageVisibilityBatchResult();
+        }
+    }
+}
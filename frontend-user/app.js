@@ -650,6 +650,61 @@ async function uploadFileToPresigned(url, file, contentType) {
   }
 }
 
+const MULTIPART_THRESHOLD = 16 * 1024 * 1024;
+const MULTIPART_CONCURRENCY = 3;
+
+async function uploadMediaDirect(file, directory) {
+  const contentType = file.type || 'application/octet-stream';
+  if (file.size > MULTIPART_THRESHOLD) {
+    return uploadMultipartDirect(file, directory, contentType);
+  }
+  const presigned = await fetchJson('/api/media/presigned', {
+    method: 'POST',
+    body: JSON.stringify({ directory, contentType })
+  });
+  await uploadFileToPresigned(presigned.uploadUrl, file, contentType);
+  return fetchJson('/api/media/complete', {
+    method: 'POST',
+    body: JSON.stringify({ key: presigned.key })
+  });
+}
+
+async function uploadMultipartDirect(file, directory, contentType) {
+  const upload = await fetchJson('/api/media/multipart', {
+    method: 'POST',
+    body: JSON.stringify({ directory, contentType, size: file.size })
+  });
+  try {
+    const pending = [...upload.parts];
+    const parts = [];
+    const worker = async () => {
+      while (pending.length) {
+        const part = pending.shift();
+        const start = (part.partNumber - 1) * upload.partSize;
+        const response = await fetch(part.uploadUrl, {
+          method: 'PUT',
+          body: file.slice(start, start + upload.partSize)
+        });
+        if (!response.ok) {
+          throw new Error(`${file.name} 업로드에 실패했습니다.`);
+        }
+        parts.push({ partNumber: part.partNumber, etag: response.headers.get('ETag') });
+      }
+    };
+    await Promise.all(Array.from({ length: Math.min(MULTIPART_CONCURRENCY, pending.length) }, worker));
+    return await fetchJson('/api/media/multipart/complete', {
+      method: 'POST',
+      body: JSON.stringify({ key: upload.key, uploadId: upload.uploadId, parts })
+    });
+  } catch (err) {
+    fetchJson('/api/media/multipart/abort', {
+      method: 'POST',
+      body: JSON.stringify({ key: upload.key, uploadId: upload.uploadId })
+    }).catch(() => {});
+    throw err;
+  }
+}
+
 async function handleGalleryFileSelect(event) {
   const files = Array.from(event.target.files || []);
   if (!files.length) {
@@ -663,13 +718,8 @@ async function handleGalleryFileSelect(event) {
   setStatus(galleryFeedback, '파일을 업로드하는 중입니다...', 'info');
   for (const file of files) {
     try {
-      const contentType = file.type || 'application/octet-stream';
-      const presigned = await fetchJson('/api/media/presigned', {
-        method: 'POST',
-        body: JSON.stringify({ directory: 'gallery', contentType })
-      });
-      await uploadFileToPresigned(presigned.uploadUrl, file, contentType);
-      galleryUploadedEntries.push({ url: presigned.publicUrl, name: file.name });
+      const uploaded = await uploadMediaDirect(file, 'gallery');
+      galleryUploadedEntries.push({ url: uploaded.url, name: file.name });
       renderGalleryUploads();
     } catch (err) {
       setStatus(galleryFeedback, err.message || `${file.name} 업로드에 실패했습니다.`, 'error');
@@ -133,13 +133,8 @@ async function handleUploadFileSelect(event) {
     }
     try {
       setStatus(statusEl, `${file.name} 업로드 중...`, 'info');
-      const contentType = file.type || 'application/octet-stream';
-      const presigned = await fetchJson('/api/media/presigned', {
-        method: 'POST',
-        body: JSON.stringify({ directory: 'board', contentType })
-      });
-      await uploadFileToPresigned(presigned.uploadUrl, file, contentType);
-      uploadState.files.push({ id: `${Date.now()}-${Math.random().toString(36).slice(2, 10)}`, name: file.name, url: presigned.publicUrl });
+      const uploaded = await uploadMediaDirect(file, 'board');
+      uploadState.files.push({ id: `${Date.now()}-${Math.random().toString(36).slice(2, 10)}`, name: file.name, url: uploaded.url });
       setStatus(statusEl, `${file.name} 업로드 완료`, 'success');
     } catch (err) {
       setStatus(statusEl, err.message || `${file.name} 업로드에 실패했습니다.`, 'error');
@@ -228,6 +223,61 @@ async function uploadFileToPresigned(url, file, contentType) {
   }
 }
 
+const MULTIPART_THRESHOLD = 16 * 1024 * 1024;
+const MULTIPART_CONCURRENCY = 3;
+
+async function uploadMediaDirect(file, directory) {
+  const contentType = file.type || 'application/octet-stream';
+  if (file.size > MULTIPART_THRESHOLD) {
+    return uploadMultipartDirect(file, directory, contentType);
+  }
+  const presigned = await fetchJson('/api/media/presigned', {
+    method: 'POST',
+    body: JSON.stringify({ directory, contentType })
+  });
+  await uploadFileToPresigned(presigned.uploadUrl, file, contentType);
+  return fetchJson('/api/media/complete', {
+    method: 'POST',
+    body: JSON.stringify({ key: presigned.key })
+  });
+}
+
+async function uploadMultipartDirect(file, directory, contentType) {
+  const upload = await fetchJson('/api/media/multipart', {
+    method: 'POST',
+    body: JSON.stringify({ directory, contentType, size: file.size })
+  });
+  try {
+    const pending = [...upload.parts];
+    const parts = [];
+    const worker = async () => {
+      while (pending.length) {
+        const part = pending.shift();
+        const start = (part.partNumber - 1) * upload.partSize;
+        const response = await fetch(part.uploadUrl, {
+          method: 'PUT',
+          body: file.slice(start, start + upload.partSize)
+        });
+        if (!response.ok) {
+          throw new Error(`${file.name} 업로드에 실패했습니다.`);
+        }
+        parts.push({ partNumber: part.partNumber, etag: response.headers.get('ETag') });
+      }
+    };
+    await Promise.all(Array.from({ length: Math.min(MULTIPART_CONCURRENCY, pending.length) }, worker));
+    return await fetchJson('/api/media/multipart/complete', {
+      method: 'POST',
+      body: JSON.stringify({ key: upload.key, uploadId: upload.uploadId, parts })
+    });
+  } catch (err) {
+    fetchJson('/api/media/multipart/abort', {
+      method: 'POST',
+      body: JSON.stringify({ key: upload.key, uploadId: upload.uploadId })
+    }).catch(() => {});
+    throw err;
+  }
+}
+
 async function fetchJson(path, options = {}) {
   const response = await fetch(`${API_BASE}${path}`, {
     credentials: 'include',